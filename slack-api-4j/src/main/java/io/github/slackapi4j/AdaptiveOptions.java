@@ -0,0 +1,57 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * How a connection finds out how many calls it can have in flight.
+ *
+ * <p>The limit starts at {@link #initialLimit}. While calls answer about as fast as usual and the limit
+ * is being used, it grows by about one each round trip. A 429 halves it, and an answer slower than
+ * {@link #latencyTolerance} times the usual latency for its method cuts it by a tenth, at most once a round trip.</p>
+ */
+@SuppressWarnings({"FieldMayBeFinal", "RedundantFieldInitialization"})
+@Builder
+@Getter
+public class AdaptiveOptions
+{
+    public static final AdaptiveOptions DEFAULT = builder().build();
+
+    @Builder.Default
+    private int initialLimit = 8;
+    @Builder.Default
+    private int minLimit = 1;
+    @Builder.Default
+    private int maxLimit = 64;
+    /**
+     * How many times slower than usual an answer may be before the limit is cut.
+     */
+    @Builder.Default
+    private double latencyTolerance = 2;
+}
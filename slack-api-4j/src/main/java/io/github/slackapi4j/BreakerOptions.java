@@ -0,0 +1,77 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * When a method's circuit breaker stops sending calls to it.
+ *
+ * <p>The breaker looks at the last {@link #windowSize} calls to a method. Once at least
+ * {@link #minimumCalls} have been made and too many of them failed or were slow, it opens: calls fail
+ * straight away with a {@link io.github.slackapi4j.exceptions.SlackCircuitOpenException} instead of
+ * tying up a thread and a connection. After {@link #openDuration} it lets {@link #probeCalls} calls
+ * through; if they all succeed it closes again, if any fails or is slow it opens for another period.</p>
+ */
+@SuppressWarnings({"FieldMayBeFinal", "RedundantFieldInitialization"})
+@Builder
+@Getter
+public class BreakerOptions
+{
+    public static final BreakerOptions DEFAULT = builder().build();
+
+    @Builder.Default
+    private int windowSize = 50;
+    @Builder.Default
+    private int minimumCalls = 20;
+    /**
+     * The part of calls in the window that may fail before the breaker opens, from 0 to 1.
+     */
+    @Builder.Default
+    private double failureRate = 0.5;
+    /**
+     * Calls taking longer than this many milliseconds are slow.
+     */
+    @Builder.Default
+    private long slowCall = 10000;
+    /**
+     * The part of calls in the window that may be slow before the breaker opens, from 0 to 1.
+     */
+    @Builder.Default
+    private double slowCallRate = 0.8;
+    /**
+     * How long in milliseconds the breaker stays open before probing.
+     */
+    @Builder.Default
+    private long openDuration = 30000;
+    /**
+     * How many calls are let through at once to probe an endpoint, and must succeed to close the breaker.
+     */
+    @Builder.Default
+    private int probeCalls = 3;
+}
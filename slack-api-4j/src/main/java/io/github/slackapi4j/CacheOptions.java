@@ -0,0 +1,57 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * How answers to read calls are cached.
+ *
+ * <p>Only GETs are cached, and only when Slack's answer says it may be: a {@code Cache-Control: max-age}
+ * keeps it fresh for that long, and an {@code ETag} or {@code Last-Modified} lets a stale answer be
+ * revalidated with a conditional request that Slack can answer with an empty 304. {@code no-store}
+ * answers are never kept and {@code no-cache} ones are always revalidated.</p>
+ */
+@SuppressWarnings({"FieldMayBeFinal", "RedundantFieldInitialization"})
+@Builder
+@Getter
+public class CacheOptions
+{
+    public static final CacheOptions DEFAULT = builder().build();
+
+    /**
+     * How many answers are kept. The least recently used are dropped first.
+     */
+    @Builder.Default
+    private int maxEntries = 1000;
+    /**
+     * The largest answer body in bytes that is kept.
+     */
+    @Builder.Default
+    private int maxEntrySize = 1024 * 1024;
+}
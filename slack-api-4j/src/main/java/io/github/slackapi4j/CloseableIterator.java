@@ -0,0 +1,67 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An iterator over items fetched from Slack as it goes, which should be closed if it is left before its end.
+ *
+ * <pre>
+ * try (CloseableIterator&lt;Message&gt; messages = conversations.iterateHistory(channel, options)) {
+ *     while (messages.hasNext()) {
+ *         handle(messages.next());
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>Failures are thrown from {@link #hasNext()} as a {@link io.github.slackapi4j.exceptions.SlackPagingException}.
+ * Iterators are not thread safe.</p>
+ *
+ * @param <T> the item type
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable
+{
+    /**
+     * Stops iterating and cancels any request still in flight.
+     */
+    @Override
+    void close();
+
+    /**
+     * @return a sequential stream over the remaining items that closes the iterator when closed
+     */
+    default Stream<T> stream()
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+}
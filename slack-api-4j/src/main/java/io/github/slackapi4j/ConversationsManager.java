@@ -27,24 +27,31 @@ package io.github.slackapi4j;
  */
 
 import io.github.slackapi4j.exceptions.SlackException;
+import io.github.slackapi4j.internal.BulkDeleter;
+import io.github.slackapi4j.internal.FanOut;
 import io.github.slackapi4j.internal.SlackConnection;
 import io.github.slackapi4j.internal.SlackConstants;
 import io.github.slackapi4j.internal.SlackConversationType;
+import io.github.slackapi4j.internal.Utilities;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import io.github.slackapi4j.objects.Conversation;
 import io.github.slackapi4j.objects.Message;
 import io.github.slackapi4j.objects.ObjectID;
 import io.github.slackapi4j.objects.User;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 /**
  * Created for use for the Add5tar MC Minecraft server
@@ -53,11 +60,29 @@ import java.util.Map;
 public class ConversationsManager {
     private final Gson gson;
     private final SlackConnection connection;
+    private final TypeAdapter<Conversation> conversationAdapter;
+    private final TypeAdapter<Message> messageAdapter;
 
+    /**
+     * Member lists are plain id strings.
+     */
+    private static final TypeAdapter<ObjectID> MEMBER_ADAPTER = new TypeAdapter<ObjectID>() {
+        @Override
+        public void write(final JsonWriter out, final ObjectID value) throws IOException {
+            out.value(value.toString());
+        }
+
+        @Override
+        public ObjectID read(final JsonReader in) throws IOException {
+            return new ObjectID(in.nextString());
+        }
+    };
 
     ConversationsManager(SlackAPI main) {
         this.gson = main.getGson();
         this.connection = main.getSlack();
+        this.conversationAdapter = this.gson.getAdapter(Conversation.class);
+        this.messageAdapter = this.gson.getAdapter(Message.class);
     }
     
     /**
@@ -79,15 +104,28 @@ public class ConversationsManager {
      * @throws SlackException
      */
     public Conversation getConversation(final String conversationID) throws IOException, SlackException {
-        final ImmutableMap.Builder<String, Object> mapBuilder = ImmutableMap.<String, Object>builder()
-                .put("channel", conversationID);
-        final Map<String, Object> params = mapBuilder.build();
-        final JsonObject result = this.connection.callMethodHandled(SlackConstants.CONVERSATION_INFO, params);
+        final JsonObject result = this.connection.callMethodHandled(SlackConstants.CONVERSATION_INFO, this.channelParams(conversationID));
         return this.gson.fromJson(result.get("channel").getAsJsonObject(),Conversation.class);
     }
+
+    /**
+     * Gets a conversation based on an ID without blocking.
+     * @param conversationID the id
+     * @return a future for the Conversation
+     */
+    public CompletableFuture<Conversation> getConversationAsync(final String conversationID) {
+        return this.connection.callMethodHandledAsync(SlackConstants.CONVERSATION_INFO, this.channelParams(conversationID))
+                .thenApply(result -> this.gson.fromJson(result.get("channel").getAsJsonObject(), Conversation.class));
+    }
+
+    private Map<String, Object> channelParams(final Object conversationID) {
+        return ImmutableMap.<String, Object>builder()
+                .put("channel", conversationID)
+                .build();
+    }
     
     /**
-     * A list of conversations by Type
+     * A list of conversations by Type, every page of it.
      * @param types A list of types to return
      * @param excludeArchived if true will not return archived conversations
      * @return List
@@ -96,6 +134,107 @@ public class ConversationsManager {
      */
     public List<Conversation> listConversations(final List<SlackConversationType> types, final boolean excludeArchived) throws SlackException, IOException
     {
+        try (final Stream<Conversation> conversations = this.streamConversations(types, excludeArchived)) {
+            return Utilities.collect(conversations);
+        }
+    }
+
+    /**
+     * A list of conversations by Type, every page of it, without blocking.
+     * @param types A list of types to return
+     * @param excludeArchived if true will not return archived conversations
+     * @return a future for the List
+     */
+    public CompletableFuture<List<Conversation>> listConversationsAsync(final List<SlackConversationType> types, final boolean excludeArchived) {
+        return this.connection.callMethodListAsync(SlackConstants.CONVERSATION_LIST, this.listParams(types, excludeArchived),
+                "channels", this.conversationAdapter);
+    }
+
+    /**
+     * Streams conversations by Type a page at a time, fetching the next page while this one is read.
+     * @param types A list of types to return
+     * @param excludeArchived if true will not return archived conversations
+     * @return a lazy stream, close it to stop fetching pages early
+     */
+    public Stream<Conversation> streamConversations(final List<SlackConversationType> types, final boolean excludeArchived) {
+        return this.iterateConversations(types, excludeArchived).stream();
+    }
+
+    /**
+     * Iterates over conversations by Type a page at a time, fetching the next page while this one is read.
+     * @param types A list of types to return
+     * @param excludeArchived if true will not return archived conversations
+     * @return a lazy iterator, page failures are thrown as {@link io.github.slackapi4j.exceptions.SlackPagingException}
+     */
+    public CloseableIterator<Conversation> iterateConversations(final List<SlackConversationType> types, final boolean excludeArchived) {
+        return this.connection.iterateMethodPages(SlackConstants.CONVERSATION_LIST, this.listParams(types, excludeArchived),
+                "channels", this.conversationAdapter);
+    }
+
+    public CompletableFuture<List<Conversation>> listConversationsAsync(final List<SlackConversationType> types) {
+        return this.listConversationsAsync(types, true);
+    }
+
+    /**
+     * Streams a conversation's history newest first, a page at a time. The next page is fetched and decoded
+     * while this one is read, and only these two pages are held however long the history is.
+     * @param conversation the conversation
+     * @param options the bounds and page size
+     * @return a lazy stream of messages, close it to stop fetching pages early
+     */
+    public Stream<Message> streamHistory(final Conversation conversation, final HistoryOptions options) {
+        return this.iterateHistory(conversation, options).stream();
+    }
+
+    public Stream<Message> streamHistory(final Conversation conversation) {
+        return this.streamHistory(conversation, HistoryOptions.DEFAULT);
+    }
+
+    /**
+     * Iterates over a conversation's history newest first, a page at a time, fetching the next page while
+     * this one is read.
+     * @param conversation the conversation
+     * @param options the bounds and page size
+     * @return a lazy iterator of messages, page failures are thrown as {@link io.github.slackapi4j.exceptions.SlackPagingException}
+     */
+    public CloseableIterator<Message> iterateHistory(final Conversation conversation, final HistoryOptions options) {
+        return this.connection.iterateMethodPages(SlackConstants.CONVERSATION_HISTORY, this.historyParams(conversation, options),
+                "messages", this.messageAdapter);
+    }
+
+    /**
+     * Iterates over the replies to a thread oldest first, a page at a time, fetching the next page while
+     * this one is read. Slack includes the thread's parent message first.
+     * @param conversation the conversation
+     * @param threadTs the timestamp of the thread's parent message
+     * @param options the bounds and page size
+     * @return a lazy iterator of messages, page failures are thrown as {@link io.github.slackapi4j.exceptions.SlackPagingException}
+     */
+    public CloseableIterator<Message> iterateReplies(final Conversation conversation, final String threadTs, final HistoryOptions options) {
+        final Map<String, Object> params = ImmutableMap.<String, Object>builder()
+                .putAll(this.historyParams(conversation, options))
+                .put("ts", threadTs)
+                .build();
+        return this.connection.iterateMethodPages(SlackConstants.CONVERSATION_REPLIES, params, "messages", this.messageAdapter);
+    }
+
+    private Map<String, Object> historyParams(final Conversation conversation, final HistoryOptions options) {
+        final ImmutableMap.Builder<String, Object> builder = ImmutableMap.<String, Object>builder()
+                .put("channel", conversation.getId())
+                .put("limit", options.getPageSize());
+        if (options.getOldest() != null) {
+            builder.put("oldest", options.getOldest());
+        }
+        if (options.getLatest() != null) {
+            builder.put("latest", options.getLatest());
+        }
+        if (options.isInclusive()) {
+            builder.put("inclusive", "true");
+        }
+        return builder.build();
+    }
+
+    private Map<String, Object> listParams(final List<SlackConversationType> types, final boolean excludeArchived) {
         final StringBuilder builder = new StringBuilder();
         for(final SlackConversationType t:types){
             builder.append(t).append(',');
@@ -106,16 +245,9 @@ public class ConversationsManager {
         if(!excludeArchived) {
             mapBuilder.put("exclude_archived", "false");
         }
-        final Map<String, Object> params = mapBuilder.build();
-        final List<Conversation> conversations = new ArrayList<>();
-        final JsonObject result = this.connection.callMethodHandled(SlackConstants.CONVERSATION_LIST, params);
-        final JsonArray array = result.getAsJsonArray("channels");
-        for(final JsonElement object:array){
-            conversations.add(this.gson.fromJson(object,Conversation.class));
-        }
-        return conversations;
+        return mapBuilder.build();
     }
-    
+
     /**
      * returns true if the Bot is a member of the channel
      * @param c The conversation
@@ -133,37 +265,96 @@ public class ConversationsManager {
      * @throws IOException
      */
     public boolean purgeChannel (final Conversation c)  throws SlackException, IOException{
-        final Map<String, Object> params = ImmutableMap.<String, Object>builder()
-                .put("channel",c.getId().getId())
+        this.purgeChannel(c, PurgeOptions.DEFAULT);
+        return true;
+    }
+
+    /**
+     * Deletes all messages from a conversation, several at a time, paced by chat.delete's rate limit.
+     * Every page of history is read as the purge goes. If it is interrupted the last progress reported
+     * holds a checkpoint to resume from.
+     * @param c the conversation / channel
+     * @param options how many deletes run at once, where to resume and who is told of progress
+     * @return how many messages were deleted, and how many Slack would not delete
+     * @throws SlackException if the token may no longer delete
+     * @throws IOException if Slack could not be reached
+     */
+    @SuppressWarnings("try")
+    public PurgeProgress purgeChannel(final Conversation c, final PurgeOptions options) throws SlackException, IOException {
+        final HistoryOptions history = HistoryOptions.builder()
+                .latest(options.getResumeFrom())
                 .build();
-        final JsonObject raw = this.connection.callMethodHandled(SlackConstants.CONVERSATION_HISTORY,params);
-        final JsonArray rawList = raw.getAsJsonArray("messages");
-        final List<Message> messages = new ArrayList<>();
-        for (final JsonElement message : rawList){
-            messages.add(this.gson.fromJson(message,Message.class));
-        }
-        for (final Message message: messages) {
-            final Map<String, Object> p = ImmutableMap.<String, Object>builder()
-                    .put("channel",c.getId().getId())
-                    .put("ts",message.getTimestamp())
-                    .build();
-            this.connection.callMethodHandled(SlackConstants.CHAT_DELETE,p );
+        // A purge is background work, it must not hold up replies to users
+        try (RequestPriority.Scope ignored = RequestPriority.BULK.enter();
+             CloseableIterator<Message> messages = this.iterateHistory(c, history)) {
+            return new BulkDeleter(this.connection, c.getId().getId(), options).delete(messages);
         }
-        return true;
     }
 
     public List<ObjectID> getMembers(Conversation conversation) throws SlackException, IOException {
-        final Map<String, Object> params = ImmutableMap.<String, Object>builder()
-                .put("channel", conversation.getId())
-                .build();
-        final JsonObject raw = this.connection.callMethodHandled(SlackConstants.CONVERSATION_MEMBERS, params);
-        final JsonArray rawList = raw.getAsJsonArray("members");
-        final List<ObjectID> users = new ArrayList<>();
-        for (final JsonElement user : rawList) {
-            users.add(new ObjectID(user.getAsString()));
+        try (final Stream<ObjectID> members = this.streamMembers(conversation)) {
+            return Utilities.collect(members);
+        }
+    }
+
+    /**
+     * Lists the members of a conversation without blocking.
+     * @param conversation the conversation
+     * @return a future for the member ids
+     */
+    public CompletableFuture<List<ObjectID>> getMembersAsync(final Conversation conversation) {
+        return this.connection.callMethodListAsync(SlackConstants.CONVERSATION_MEMBERS, this.channelParams(conversation.getId()),
+                "members", MEMBER_ADAPTER);
+    }
+
+    /**
+     * Streams the members of a conversation a page at a time, fetching the next page while this one is read.
+     * @param conversation the conversation
+     * @return a lazy stream of member ids, close it to stop fetching pages early
+     */
+    public Stream<ObjectID> streamMembers(final Conversation conversation) {
+        return this.iterateMembers(conversation).stream();
+    }
+
+    /**
+     * Iterates over the members of a conversation a page at a time, fetching the next page while this one is read.
+     * @param conversation the conversation
+     * @return a lazy iterator of member ids
+     */
+    public CloseableIterator<ObjectID> iterateMembers(final Conversation conversation) {
+        return this.connection.iterateMethodPages(SlackConstants.CONVERSATION_MEMBERS, this.channelParams(conversation.getId()),
+                "members", MEMBER_ADAPTER);
+    }
+
+    /**
+     * Fetches the members of many conversations, several at a time, handing each list to a callback as it completes.
+     * Every page of each list is read, and the rate limiter paces the calls to conversations.members' tier.
+     * @param conversations the conversations
+     * @param parallelism how many conversations are fetched at once
+     * @param callback called on the calling thread with each conversation and its member ids, in the order they complete
+     * @throws SlackException if Slack reports an error for any conversation, the rest are not fetched
+     * @throws IOException if a call fails
+     */
+    public void getMembers(final Collection<? extends Conversation> conversations, final int parallelism,
+                           final BiConsumer<Conversation, List<ObjectID>> callback) throws SlackException, IOException {
+        try (final Stream<Map.Entry<Conversation, List<ObjectID>>> members = this.streamMembers(conversations, parallelism)) {
+            Utilities.forEach(members, entry -> callback.accept(entry.getKey(), entry.getValue()));
         }
-        return users;
     }
+
+    /**
+     * Streams the members of many conversations, fetching several at a time. At most {@code parallelism} lists
+     * are held that the stream has not yet handed on.
+     * @param conversations the conversations
+     * @param parallelism how many conversations are fetched at once
+     * @return a lazy stream of each conversation and its member ids in the order they complete, close it to cancel
+     * the calls in flight
+     */
+    public Stream<Map.Entry<Conversation, List<ObjectID>>> streamMembers(final Collection<? extends Conversation> conversations,
+                                                                       final int parallelism) {
+        return new FanOut<Conversation, List<ObjectID>>(conversations.iterator(), this::getMembersAsync, parallelism).stream();
+    }
+
     /**
      * Returns a conversation thats is a MultiParty DM
      * @param users the users to add.
@@ -175,6 +366,27 @@ public class ConversationsManager {
         if (users.size() == 0) {
             throw new IOException("No users to recieve");
         }
+        final JsonObject raw = this.connection.callMethodHandled(SlackConstants.CONVERSATION_OPEN,this.openParams(users));
+        final Conversation con = this.gson.fromJson(raw.get("channel"),Conversation.class);
+        return con;
+    }
+
+    /**
+     * Opens a MultiParty DM without blocking.
+     * @param users the users to add.
+     * @return a future for the conversation
+     */
+    public CompletableFuture<Conversation> createDMConversationAsync(final List<User> users) {
+        if (users.size() == 0) {
+            final CompletableFuture<Conversation> result = new CompletableFuture<>();
+            result.completeExceptionally(new IOException("No users to recieve"));
+            return result;
+        }
+        return this.connection.callMethodHandledAsync(SlackConstants.CONVERSATION_OPEN, this.openParams(users))
+                .thenApply(raw -> this.gson.fromJson(raw.get("channel"), Conversation.class));
+    }
+
+    private Map<String, Object> openParams(final List<User> users) {
         StringBuilder userlist = new StringBuilder();
         for (final User u : users) {
             userlist.append(u.getId()).append(',');
@@ -183,10 +395,7 @@ public class ConversationsManager {
         final ImmutableMap.Builder<String,Object> builder = ImmutableMap.builder();
         builder.put("users",userString);
         builder.put("return_im",true);
-        final Map<String, Object> params = builder.build();
-        final JsonObject raw = this.connection.callMethodHandled(SlackConstants.CONVERSATION_OPEN,params);
-        final Conversation con = this.gson.fromJson(raw.get("channel"),Conversation.class);
-        return con;
+        return builder.build();
     }
     
     /**
@@ -197,10 +406,17 @@ public class ConversationsManager {
      * @throws SlackException
      */
     public boolean closeMultiPartyMessage(Conversation conversation) throws IOException, SlackException {
-            final Map<String, Object> params = ImmutableMap.<String, Object>builder().
-                    put("channel", conversation.getId())
-                    .build();
-            final JsonObject raw = this.connection.callMethodHandled(SlackConstants.CONVERSATION_CLOSE, params);
+            final JsonObject raw = this.connection.callMethodHandled(SlackConstants.CONVERSATION_CLOSE, this.channelParams(conversation.getId()));
             return true;
     }
+
+    /**
+     * Closes a Group or DM Channel without blocking.
+     * @param conversation the conversation
+     * @return a future that is true once closed
+     */
+    public CompletableFuture<Boolean> closeMultiPartyMessageAsync(final Conversation conversation) {
+        return this.connection.callMethodHandledAsync(SlackConstants.CONVERSATION_CLOSE, this.channelParams(conversation.getId()))
+                .thenApply(raw -> true);
+    }
 }
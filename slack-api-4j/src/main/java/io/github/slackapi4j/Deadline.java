@@ -0,0 +1,121 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which a Web API call must have completed.
+ *
+ * <p>The time a call may spend waiting for the rate limiter, for a free connection and for Slack to
+ * answer all come out of its deadline, and a call whose deadline passes before it is sent is dropped
+ * with a {@link io.github.slackapi4j.exceptions.SlackDeadlineException}. Calls have no deadline unless
+ * a timeout is set in {@link SlackOptions} or one is set for the calls a thread makes:</p>
+ * <pre>
+ * try (Deadline.Scope ignored = Deadline.after(2, TimeUnit.SECONDS).enter()) {
+ *     api.sendMessage(reply);
+ * }
+ * </pre>
+ */
+public final class Deadline
+{
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    /**
+     * In {@link System#nanoTime()} terms.
+     */
+    private final long nanos;
+
+    private Deadline(final long nanos)
+    {
+        this.nanos = nanos;
+    }
+
+    public static Deadline after(final long duration, final TimeUnit unit)
+    {
+        return new Deadline(System.nanoTime() + unit.toNanos(duration));
+    }
+
+    /**
+     * @return the deadline set for calls made from this thread, or null if there is none
+     */
+    public static Deadline current()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return whichever of the two deadlines comes first, either may be null
+     */
+    public static Deadline earliest(final Deadline a, final Deadline b)
+    {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.nanos - b.nanos <= 0 ? a : b;
+    }
+
+    /**
+     * @return the time left, which is negative once the deadline has passed
+     */
+    public long remaining(final TimeUnit unit)
+    {
+        return unit.convert(this.nanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    public boolean isExpired()
+    {
+        return this.nanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Applies this deadline to every call made from this thread until the scope is closed. A deadline
+     * already set that comes sooner still applies. Async calls take the deadline they were started with.
+     * @return the scope, close it to go back to the previous deadline
+     */
+    public Scope enter()
+    {
+        final Deadline previous = CURRENT.get();
+        CURRENT.set(earliest(previous, this));
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable
+    {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * When a slow read call is sent a second time, taking whichever copy answers first.
+ *
+ * <p>Only read methods are hedged. A second copy is sent once the first has taken longer than the
+ * {@link #percentile} of recent calls to the method, but never sooner than {@link #minDelay}. Hedges
+ * are paid for out of their own budget, and only sent while the method has rate limit burst to
+ * spare, so they cannot cause a 429.</p>
+ */
+@SuppressWarnings({"FieldMayBeFinal", "RedundantFieldInitialization"})
+@Builder
+@Getter
+public class HedgeOptions
+{
+    public static final HedgeOptions DEFAULT = builder().build();
+
+    /**
+     * The latency percentile of recent calls after which a hedge is sent, from 0 to 1.
+     */
+    @Builder.Default
+    private double percentile = 0.95;
+    /**
+     * The least time in milliseconds to wait before hedging.
+     */
+    @Builder.Default
+    private long minDelay = 20;
+    /**
+     * How many hedges may be sent per call, from 0 to 1. Up to ten unused hedges are saved up.
+     */
+    @Builder.Default
+    private double budget = 0.05;
+    /**
+     * The part of a method's rate limit burst that must be free for a hedge to be sent, from 0 to 1.
+     */
+    @Builder.Default
+    private double burstShare = 0.5;
+}
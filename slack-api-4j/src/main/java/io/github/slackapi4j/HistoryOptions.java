@@ -0,0 +1,62 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Which part of a conversation's history is read, and in what size pages.
+ *
+ * <p>Bounds are Slack message timestamps such as {@code 1500000000.000100}. History is read newest first.</p>
+ */
+@SuppressWarnings({"FieldMayBeFinal", "RedundantFieldInitialization"})
+@Builder
+@Getter
+public class HistoryOptions
+{
+    public static final HistoryOptions DEFAULT = builder().build();
+
+    /**
+     * Only messages after this timestamp are read. If not set history goes back to the start.
+     */
+    private String oldest;
+    /**
+     * Only messages before this timestamp are read. If not set history starts at the newest message.
+     */
+    private String latest;
+    /**
+     * Whether messages at exactly {@link #oldest} or {@link #latest} are included.
+     */
+    @Builder.Default
+    private boolean inclusive = false;
+    /**
+     * How many messages each page asks for, at most 1000. Two pages are held at a time.
+     */
+    @Builder.Default
+    private int pageSize = 200;
+}
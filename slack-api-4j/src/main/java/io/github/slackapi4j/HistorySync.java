@@ -0,0 +1,379 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import io.github.slackapi4j.exceptions.SlackException;
+import io.github.slackapi4j.internal.FanOut;
+import io.github.slackapi4j.internal.Utilities;
+import io.github.slackapi4j.objects.Conversation;
+import io.github.slackapi4j.objects.Message;
+
+/**
+ * Reads only the messages posted to conversations since the last sync.
+ *
+ * <p>The newest message timestamp seen in each conversation, its high-water mark, is kept in a small
+ * local file. A sync reads {@code conversations.history} from the mark onwards, and the replies to
+ * every new thread from {@code conversations.replies}, so a run costs as much as what was posted since
+ * the one before, not the whole history. Slack does not bring a thread's parent back into the history
+ * when someone replies, so the file also keeps each thread's newest reply, and a sync reads the history
+ * back to the oldest thread it keeps. Only threads whose parent shows a newer reply than the one kept
+ * have their replies read. A thread is forgotten once it has had no reply for
+ * {@link #THREAD_RETENTION_DAYS} days before its conversation's newest message.</p>
+ *
+ * <p>Conversations are synced several at a time as bulk work, under the caller's {@link Deadline}. A
+ * conversation's marks only move once all its new messages have been handed on. The file is written at
+ * the end of a sync, whether or not it succeeded, and every {@link #SAVE_INTERVAL_SECONDS} seconds
+ * during a long one, so an interrupted sync picks up where it left off.</p>
+ */
+public class HistorySync
+{
+    static final int MAGIC = 0x534c4b53; // SLKS
+    static final int VERSION = 2;
+    static final int THREAD_RETENTION_DAYS = 30;
+    static final int SAVE_INTERVAL_SECONDS = 10;
+
+    private final SlackAPI api;
+    private final Path state;
+    private final Map<String, String> marks = new ConcurrentHashMap<>();
+    /**
+     * Each conversation's threads, by the timestamp of their parent, with the newest reply seen.
+     */
+    private final Map<String, Map<String, String>> threads = new ConcurrentHashMap<>();
+
+    /**
+     * @param api   the api the conversations are read with
+     * @param state the file the marks are kept in, it is created by the first sync if missing
+     * @throws IOException if the file exists but could not be read
+     */
+    public HistorySync(final SlackAPI api, final Path state) throws IOException
+    {
+        this.api = api;
+        this.state = state;
+        if (Files.exists(state)) {
+            try (final InputStream in = Files.newInputStream(state)) {
+                this.read(in);
+            }
+        }
+    }
+
+    /**
+     * @param conversation the conversation
+     * @return the newest message timestamp synced, or null if it has never been synced
+     */
+    public String getMark(final Conversation conversation)
+    {
+        return this.marks.get(conversation.getId().getId());
+    }
+
+    /**
+     * Hands every message posted since the last sync to a listener, several conversations at a time.
+     * History comes newest first, with a thread's new replies just after its parent, even when the parent
+     * itself was handed on by an earlier sync.
+     *
+     * @param conversations the conversations
+     * @param parallelism   how many conversations are read at once
+     * @param listener      told of each new message, from several threads at once
+     * @return how many new messages there were
+     * @throws SlackException if Slack reports an error, the conversations already synced keep their marks
+     * @throws IOException    if a call fails or the marks could not be written
+     */
+    @SuppressWarnings("try")
+    public long sync(final Collection<? extends Conversation> conversations, final int parallelism,
+                     final BiConsumer<Conversation, Message> listener) throws SlackException, IOException
+    {
+        // Cancelling a task's future does not stop it, so the tasks check this as they go
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final Deadline deadline = Deadline.current();
+        final FanOut<Conversation, Mark> synced = new FanOut<>(conversations.iterator(), conversation ->
+                CompletableFuture.supplyAsync(() -> {
+                    try (Deadline.Scope ignored = deadline == null ? null : deadline.enter()) {
+                        return this.syncOne(conversation, listener, cancelled);
+                    }
+                }, this.api.getSlack().getExecutor()),
+                parallelism);
+        final long[] count = new long[1];
+        final long[] saved = {System.nanoTime()};
+        boolean done = false;
+        try (final Stream<Map.Entry<Conversation, Mark>> results = synced.stream()) {
+            Utilities.forEach(results, result -> {
+                count[0] += result.getValue().count;
+                final String id = result.getKey().getId().getId();
+                if (result.getValue().newest != null) {
+                    this.marks.put(id, result.getValue().newest);
+                }
+                if (result.getValue().threads.isEmpty()) {
+                    this.threads.remove(id);
+                } else {
+                    this.threads.put(id, result.getValue().threads);
+                }
+                if (System.nanoTime() - saved[0] >= TimeUnit.SECONDS.toNanos(SAVE_INTERVAL_SECONDS)) {
+                    this.saveUnchecked();
+                    saved[0] = System.nanoTime();
+                }
+            });
+            this.save();
+            done = true;
+        } catch (final UncheckedIOException e) {
+            // Writing the marks failed
+            throw e.getCause();
+        } finally {
+            cancelled.set(true);
+            if (!done) {
+                this.saveQuietly();
+            }
+        }
+        return count[0];
+    }
+
+    @SuppressWarnings("try")
+    private Mark syncOne(final Conversation conversation, final BiConsumer<Conversation, Message> listener,
+                         final AtomicBoolean cancelled)
+    {
+        final ConversationsManager manager = this.api.getConversations();
+        final String mark = this.getMark(conversation);
+        final Map<String, String> threads = new TreeMap<>(this.threads.getOrDefault(conversation.getId().getId(), Collections.emptyMap()));
+        // Reading back to the oldest thread kept brings up the parents of threads from earlier syncs
+        String oldest = mark;
+        for (final String thread : threads.keySet()) {
+            if (oldest == null || newer(oldest, thread)) {
+                oldest = thread;
+            }
+        }
+        String newest = mark;
+        long count = 0;
+        // An archive run is background work, it must not hold up replies to users
+        try (RequestPriority.Scope ignored = RequestPriority.BULK.enter();
+             CloseableIterator<Message> history = manager.iterateHistory(conversation, HistoryOptions.builder()
+                     .oldest(oldest)
+                     .inclusive(!threads.isEmpty())
+                     .build())) {
+            while (history.hasNext()) {
+                final Message message = next(history, cancelled);
+                final boolean synced = mark != null && !newer(message.getTs(), mark);
+                if (!synced) {
+                    if (newest == null || newer(message.getTs(), newest)) {
+                        newest = message.getTs();
+                    }
+                    listener.accept(conversation, message);
+                    count++;
+                }
+                if (message.getTs().equals(message.getThread_ts())) {
+                    final String latest = threads.get(message.getTs());
+                    // A parent handed on by an earlier sync only matters while its thread is kept
+                    if (latest == null ? !synced : hasNewReplies(message, latest)) {
+                        count += this.syncReplies(manager, conversation, message.getTs(), threads, listener, cancelled);
+                    }
+                }
+            }
+        }
+        if (newest != null) {
+            final BigDecimal cutoff = new BigDecimal(newest).subtract(BigDecimal.valueOf(TimeUnit.DAYS.toSeconds(THREAD_RETENTION_DAYS)));
+            threads.values().removeIf(latest -> new BigDecimal(latest).compareTo(cutoff) < 0);
+        }
+        return new Mark(newest == null || newest.equals(mark) ? null : newest, threads, count);
+    }
+
+    /**
+     * Hands on a thread's replies after the newest one seen, and records the new newest one.
+     */
+    private long syncReplies(final ConversationsManager manager, final Conversation conversation, final String thread,
+                             final Map<String, String> threads, final BiConsumer<Conversation, Message> listener,
+                             final AtomicBoolean cancelled)
+    {
+        String latest = threads.getOrDefault(thread, thread);
+        long count = 0;
+        try (CloseableIterator<Message> replies = manager.iterateReplies(conversation, thread,
+                HistoryOptions.builder().oldest(latest).build())) {
+            while (replies.hasNext()) {
+                final Message reply = next(replies, cancelled);
+                // The parent comes first and was handed on from the history
+                if (!reply.getTs().equals(thread)) {
+                    listener.accept(conversation, reply);
+                    count++;
+                    if (newer(reply.getTs(), latest)) {
+                        latest = reply.getTs();
+                    }
+                }
+            }
+        }
+        threads.put(thread, latest);
+        return count;
+    }
+
+    private static Message next(final CloseableIterator<Message> messages, final AtomicBoolean cancelled)
+    {
+        if (cancelled.get()) {
+            throw new CancellationException("History sync stopped");
+        }
+        return messages.next();
+    }
+
+    /**
+     * @param latest the newest reply already handed on
+     * @return whether the parent shows a newer reply, or does not say
+     */
+    private static boolean hasNewReplies(final Message parent, final String latest)
+    {
+        return parent.getLatest_reply() == null || newer(parent.getLatest_reply(), latest);
+    }
+
+    /**
+     * Compares timestamps exactly, as the decimals Slack sends them as.
+     */
+    private static boolean newer(final String ts, final String than)
+    {
+        return new BigDecimal(ts).compareTo(new BigDecimal(than)) > 0;
+    }
+
+    private void read(final InputStream in) throws IOException
+    {
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a history sync state file");
+        }
+        final int version = data.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported history sync state version " + version);
+        }
+        final int count = data.readInt();
+        for (int i = 0; i < count; i++) {
+            this.marks.put(data.readUTF(), data.readUTF());
+        }
+        // Version 1 files only have marks
+        if (version >= 2) {
+            final int conversations = data.readInt();
+            for (int i = 0; i < conversations; i++) {
+                final String conversation = data.readUTF();
+                final Map<String, String> threads = new TreeMap<>();
+                final int size = data.readInt();
+                for (int j = 0; j < size; j++) {
+                    threads.put(data.readUTF(), data.readUTF());
+                }
+                this.threads.put(conversation, threads);
+            }
+        }
+    }
+
+    /**
+     * Writes every mark to a new file and moves it over the old one, so a crash never leaves half a file.
+     */
+    private void save() throws IOException
+    {
+        final Path parent = this.state.toAbsolutePath().getParent();
+        final Path written = Files.createTempFile(parent, this.state.getFileName().toString(), ".tmp");
+        try {
+            try (final OutputStream out = Files.newOutputStream(written)) {
+                final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+                data.writeInt(MAGIC);
+                data.writeByte(VERSION);
+                final Map<String, String> marks = new TreeMap<>(this.marks);
+                data.writeInt(marks.size());
+                for (final Map.Entry<String, String> mark : marks.entrySet()) {
+                    data.writeUTF(mark.getKey());
+                    data.writeUTF(mark.getValue());
+                }
+                final Map<String, Map<String, String>> threads = new TreeMap<>(this.threads);
+                data.writeInt(threads.size());
+                for (final Map.Entry<String, Map<String, String>> conversation : threads.entrySet()) {
+                    data.writeUTF(conversation.getKey());
+                    data.writeInt(conversation.getValue().size());
+                    for (final Map.Entry<String, String> thread : conversation.getValue().entrySet()) {
+                        data.writeUTF(thread.getKey());
+                        data.writeUTF(thread.getValue());
+                    }
+                }
+                data.flush();
+            }
+            Files.move(written, this.state, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            // Only still there if the move did not happen
+            Files.deleteIfExists(written);
+        }
+    }
+
+    private void saveUnchecked()
+    {
+        try {
+            this.save();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Keeps what a failed sync got through, without hiding what it failed with.
+     */
+    private void saveQuietly()
+    {
+        try {
+            this.save();
+        } catch (final IOException ignored) {
+            // The sync is already failing
+        }
+    }
+
+    /**
+     * What syncing one conversation found.
+     */
+    private static final class Mark
+    {
+        private final String newest;
+        private final Map<String, String> threads;
+        private final long count;
+
+        private Mark(final String newest, final Map<String, String> threads, final long count)
+        {
+            this.newest = newest;
+            this.threads = threads;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * How calls of each {@link RequestPriority} share a connection.
+ *
+ * <p>Each class has its own limit on calls in flight, so bulk work cannot take every connection.
+ * The limits are per {@link SlackAPI}: connections that share a transport, as in {@link SlackWorkspaces},
+ * each get them in full, so size them to the transport's connections divided between its users. The
+ * defaults add up to the 16 connections of a single {@link io.github.slackapi4j.transport.HttpTransport}
+ * with default options.</p>
+ *
+ * <p>Interactive calls may use a method's whole rate limit burst and queue for slots beyond it. The
+ * other classes never queue ahead: they only take a slot while the method's backlog is within their
+ * share of the burst, and otherwise wait for it to drain. Alone they still get the full rate, but they
+ * leave the rest of the burst free for interactive calls arriving later.</p>
+ */
+@SuppressWarnings({"FieldMayBeFinal", "RedundantFieldInitialization"})
+@Builder
+@Getter
+public class PriorityOptions
+{
+    public static final PriorityOptions DEFAULT = builder().build();
+
+    @Builder.Default
+    private int interactiveConcurrency = 4;
+    @Builder.Default
+    private int normalConcurrency = 8;
+    @Builder.Default
+    private int bulkConcurrency = 4;
+    /**
+     * The part of a method's burst normal calls may draw on, from 0 to 1.
+     */
+    @Builder.Default
+    private double normalShare = 0.5;
+    /**
+     * The part of a method's burst bulk calls may draw on, from 0 to 1.
+     */
+    @Builder.Default
+    private double bulkShare = 0.25;
+
+    public int getConcurrency(final RequestPriority priority)
+    {
+        switch (priority) {
+            case INTERACTIVE:
+                return this.interactiveConcurrency;
+            case BULK:
+                return this.bulkConcurrency;
+            default:
+                return this.normalConcurrency;
+        }
+    }
+
+    /**
+     * @param priority the class of call
+     * @return the part of a method's burst the class may draw on, interactive calls always get 1
+     */
+    public double getShare(final RequestPriority priority)
+    {
+        switch (priority) {
+            case INTERACTIVE:
+                return 1;
+            case BULK:
+                return this.bulkShare;
+            default:
+                return this.normalShare;
+        }
+    }
+}
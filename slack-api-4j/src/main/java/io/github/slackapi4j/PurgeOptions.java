@@ -0,0 +1,66 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.function.Consumer;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * How {@link ConversationsManager#purgeChannel(io.github.slackapi4j.objects.Conversation, PurgeOptions)} deletes a
+ * conversation's messages.
+ */
+@SuppressWarnings({"FieldMayBeFinal", "RedundantFieldInitialization"})
+@Builder
+@Getter
+public class PurgeOptions
+{
+    public static final PurgeOptions DEFAULT = builder().build();
+
+    /**
+     * How many deletes may be in flight at once. The rate limiter still paces them to chat.delete's tier.
+     */
+    @Builder.Default
+    private int parallelism = 4;
+    /**
+     * The most times a delete Slack rate limits is sent, including the first. A delete that runs out of
+     * attempts stops the purge with the last {@link io.github.slackapi4j.exceptions.SlackRequestLimitException}.
+     */
+    @Builder.Default
+    private int maxAttempts = 5;
+    /**
+     * The checkpoint of an earlier purge that was interrupted. Only messages older than it are deleted.
+     * If not set the purge starts at the newest message.
+     */
+    private String resumeFrom;
+    /**
+     * Told after each message is dealt with. It is called in order, with the purge's progress held, from
+     * whichever thread completed the delete, so it must be quick. If not set progress is not reported.
+     */
+    private Consumer<PurgeProgress> listener;
+}
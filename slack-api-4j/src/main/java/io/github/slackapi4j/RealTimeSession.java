@@ -39,13 +39,20 @@ import io.github.slackapi4j.events.ConversationEvent;
 import io.github.slackapi4j.events.MessageEvent;
 import io.github.slackapi4j.events.RealTimeEvent;
 import io.github.slackapi4j.events.UserConversationEvent;
+import io.github.slackapi4j.exceptions.SlackDeadlineException;
 import io.github.slackapi4j.exceptions.SlackRTException;
 import io.github.slackapi4j.internal.Utilities;
 import io.github.slackapi4j.objects.Conversation;
 import io.github.slackapi4j.objects.Message;
 import io.github.slackapi4j.objects.ObjectID;
 import io.github.slackapi4j.objects.User;
+import io.github.slackapi4j.transport.ReplayTransport;
+import io.github.slackapi4j.transport.SlackTransport;
+import io.github.slackapi4j.transport.TrafficRecorder;
+import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ScheduledExecutorScheduler;
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.WebSocketListener;
 import org.eclipse.jetty.websocket.client.WebSocketClient;
@@ -56,6 +63,7 @@ import io.github.slackapi4j.objects.Message.MessageType;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -69,7 +77,6 @@ public class RealTimeSession implements Closeable
     private final Gson gson;
     @Getter
     private final SlackAPI api;
-    private final ExecutorService service;
 
     @Getter
     private User self;
@@ -83,8 +90,20 @@ public class RealTimeSession implements Closeable
     private final Map<ObjectID, Conversation> channelIdMap;
     private final Set<Conversation> joined;
 
-    private WebSocketClient client;
+    /**
+     * One client, and so one set of selector threads, carries every session.
+     */
+    private static WebSocketClient sharedClient;
+
     private Session session;
+    /**
+     * Set when the api answers from a recording, in which case the session does not connect.
+     */
+    private final ReplayTransport replay;
+    /**
+     * Runs frames through the session in the order they arrived, on a virtual thread if the api asks for them.
+     */
+    private final Executor dispatcher;
     private int nextMessageId = 1;
     private boolean needJoinConfirm;
 
@@ -96,7 +115,6 @@ public class RealTimeSession implements Closeable
     {
         this.api = main;
         this.gson = this.api.getGson();
-        this.service = Executors.newCachedThreadPool();
         this.listeners = Lists.newArrayList();
         this.pendingMessages = Maps.newHashMap();
         this.futureConversations = Maps.newHashMap();
@@ -113,8 +131,36 @@ public class RealTimeSession implements Closeable
         this.userMap = Maps.newHashMapWithExpectedSize(users.size());
         this.userIdMap = Maps.newHashMapWithExpectedSize(users.size());
 
+        this.dispatcher = this.api.getSlack().isVirtualThreads()
+                ? MoreExecutors.newSequentialExecutor(this.api.getSlack().getExecutor()) : MoreExecutors.directExecutor();
         this.load(channels, users, self);
-        this.initWebSocket(object.get("url").getAsString());
+        final SlackTransport transport = this.api.getSlack().getTransport();
+        this.replay = transport instanceof ReplayTransport ? (ReplayTransport) transport : null;
+        if (this.replay == null) {
+            this.initWebSocket(object.get("url").getAsString());
+        } else {
+            this.needJoinConfirm = true;
+        }
+    }
+
+    /**
+     * Delivers the real time frames of the recording the api answers from to this session's listeners,
+     * at the replay's speed. Messages the session sends meanwhile are dropped.
+     *
+     * @return a future completed once every frame has been delivered
+     * @throws IllegalStateException if the api is not answering from a {@link ReplayTransport}
+     */
+    public CompletableFuture<Void> replay()
+    {
+        if (this.replay == null) {
+            throw new IllegalStateException("The session is not replaying a recording");
+        }
+        return this.replay.replayFrames(this::receive).thenCompose(delivered -> {
+            // Frames may still be queued for the dispatcher
+            final CompletableFuture<Void> handled = new CompletableFuture<>();
+            this.dispatcher.execute(() -> handled.complete(null));
+            return handled;
+        });
     }
 
     public void addListener(final RealTimeListener listener)
@@ -213,11 +259,25 @@ public class RealTimeSession implements Closeable
         {
             final URI uri = new URI(url);
             this.needJoinConfirm = true;
-            this.client = new WebSocketClient(new SslContextFactory.Client());
-            this.client.start();
-            final Future<Session> future = this.client.connect(new SocketClient(), uri);
-
-            this.session = future.get(this.client.getConnectTimeout() + 1000, TimeUnit.MILLISECONDS);
+            final WebSocketClient client = getClient();
+            final Deadline deadline = this.api.getSlack().newDeadline();
+            // The client gives up by itself after its connect timeout, the extra second lets it say why
+            long timeout = client.getConnectTimeout() + 1000;
+            if (deadline != null) {
+                timeout = Math.min(timeout, deadline.remaining(TimeUnit.MILLISECONDS));
+            }
+            final Future<Session> future = client.connect(new SocketClient(), uri);
+            try {
+                this.session = future.get(Math.max(0, timeout), TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                future.cancel(true);
+                if (deadline == null || !deadline.isExpired()) {
+                    // The client's own connect timeout, not the caller's deadline
+                    throw new SocketTimeoutException("Timed out connecting to the real time api");
+                }
+                this.api.getSlack().recordDeadlineMiss();
+                throw new SlackDeadlineException("Deadline passed connecting to the real time api");
+            }
 
             this.nextMessageId = 1;
         } catch (final URISyntaxException e)
@@ -236,10 +296,6 @@ public class RealTimeSession implements Closeable
             } else {
                 throw new IOException(e.getCause());
             }
-        } catch (final TimeoutException e)
-        {
-            // Probably wont
-            throw new SocketTimeoutException();
         }
         // Sigh, couldnt they pick a more specific one? :/
         catch (final Exception e)
@@ -248,6 +304,26 @@ public class RealTimeSession implements Closeable
         }
     }
 
+    private static synchronized WebSocketClient getClient() throws Exception
+    {
+        if (sharedClient == null)
+        {
+            // Daemon threads, so an idle session never keeps the JVM alive
+            final QueuedThreadPool threadPool = new QueuedThreadPool();
+            threadPool.setName("slack-rtm");
+            threadPool.setDaemon(true);
+            final HttpClient http = new HttpClient(new SslContextFactory.Client());
+            http.setExecutor(threadPool);
+            http.setScheduler(new ScheduledExecutorScheduler("slack-rtm-scheduler", true));
+            // The websocket client only uses an http client that is already running
+            http.start();
+            final WebSocketClient client = new WebSocketClient(http);
+            client.start();
+            sharedClient = client;
+        }
+        return sharedClient;
+    }
+
     private void addUser(final User user)
     {
         this.users.add(user);
@@ -317,8 +393,7 @@ public class RealTimeSession implements Closeable
         if (channel != null) {
             this.addChannel(channel);
             final Future<Conversation> future =
-                    this.service.submit(() ->
-                            this.api.getConversations().getConversation(channel.getId().toString()));
+                    this.api.getConversations().getConversationAsync(channel.getId().toString());
             this.futureConversations.put(future, channel.getId());
         }
         this.checkFutureConversations();
@@ -327,8 +402,7 @@ public class RealTimeSession implements Closeable
 
     private void updateChannel(final ObjectID channelID) {
         final Future<Conversation> future =
-                this.service.submit(() ->
-                        this.api.getConversations().getConversation(channelID.toString()));
+                this.api.getConversations().getConversationAsync(channelID.toString());
         this.futureConversations.put(future, channelID);
         this.checkFutureConversations();
     }
@@ -380,20 +454,24 @@ public class RealTimeSession implements Closeable
     }
 
     private void send(final JsonObject object) {
+        if (this.replay != null) {
+            return;
+        }
         this.session.getRemote().sendStringByFuture(this.gson.toJson(object));
     }
 
     public boolean isOpen() {
-        return this.client != null && this.client.isRunning();
+        return this.session != null && this.session.isOpen();
     }
 
     @Override
     public void close()
     {
         try {
-            this.client.stop();
-            this.client = null;
-            this.service.shutdown();
+            if (this.session != null) {
+                this.session.close();
+                this.session = null;
+            }
             this.futureConversations.forEach((conversationFuture, objectID) ->
                     conversationFuture.cancel(true));
             this.futureConversations.clear();
@@ -429,6 +507,19 @@ public class RealTimeSession implements Closeable
         }
     }
 
+    private void receive(final String message) {
+        this.dispatcher.execute(() -> this.onText(message));
+    }
+
+    private void onText(final String message) {
+        final JsonObject event = this.gson.fromJson(message, JsonElement.class).getAsJsonObject();
+        if (event.has("ok")) {
+            this.onReply(event);
+        } else {
+            this.onEvent(event);
+        }
+    }
+
     private void onEvent(final JsonObject event) {
         final String type = Utilities.getAsString(event.get("type"));
         if (type == null) {
@@ -580,12 +671,11 @@ public class RealTimeSession implements Closeable
 
         @Override
         public void onWebSocketText(final String message ) {
-            final JsonObject event = RealTimeSession.this.gson.fromJson(message, JsonElement.class).getAsJsonObject();
-            if (event.has("ok")) {
-                RealTimeSession.this.onReply(event);
-            } else {
-                RealTimeSession.this.onEvent(event);
+            final TrafficRecorder recorder = RealTimeSession.this.api.getSlack().getRecorder();
+            if (recorder != null) {
+                recorder.recordFrame(message);
             }
+            RealTimeSession.this.receive(message);
         }
     }
 }
@@ -0,0 +1,88 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * How urgently a Web API call should be sent when it competes with other calls.
+ *
+ * <p>Priorities only take effect on a connection with {@link SlackOptions#getPriorities()} set.
+ * Posts default to {@link #INTERACTIVE} and everything else to {@link #NORMAL}. Work such as a
+ * history backfill can mark its calls as {@link #BULK} for the current thread:</p>
+ * <pre>
+ * try (RequestPriority.Scope ignored = RequestPriority.BULK.enter()) {
+ *     conversations.purgeChannel(channel);
+ * }
+ * </pre>
+ *
+ * @see PriorityOptions
+ */
+public enum RequestPriority
+{
+    /**
+     * A user is waiting on it, for example a reply to a message.
+     */
+    INTERACTIVE,
+    NORMAL,
+    /**
+     * Background work that should only use capacity the other classes leave over.
+     */
+    BULK;
+
+    private static final ThreadLocal<RequestPriority> CURRENT = new ThreadLocal<>();
+
+    /**
+     * @return the priority set for calls made from this thread, or null if the default should be used
+     */
+    public static RequestPriority current()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sends every call made from this thread at this priority until the scope is closed.
+     * Async calls take the priority they were started with.
+     * @return the scope, close it to go back to the previous priority
+     */
+    public Scope enter()
+    {
+        final RequestPriority previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable
+    {
+        @Override
+        void close();
+    }
+}
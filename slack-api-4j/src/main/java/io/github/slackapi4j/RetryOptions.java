@@ -0,0 +1,68 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * How calls that Slack rate limited (HTTP 429) are retried. Retrying is off unless
+ * {@link SlackOptions#getRetry()} is set.
+ *
+ * <p>A limited call is parked until its Retry-After has passed plus a random backoff that doubles
+ * with every attempt, so a burst of limited calls does not all come back at once. Posts to the same
+ * channel are still delivered in the order they were submitted.</p>
+ */
+@SuppressWarnings({"FieldMayBeFinal", "RedundantFieldInitialization"})
+@Builder
+@Getter
+public class RetryOptions
+{
+    public static final RetryOptions DEFAULT = builder().build();
+
+    /**
+     * The most times a call is sent, including the first.
+     */
+    @Builder.Default
+    private int maxAttempts = 5;
+    /**
+     * Upper bound of the random backoff after the first 429 in milliseconds.
+     */
+    @Builder.Default
+    private long baseBackoff = 250;
+    /**
+     * Upper bound the doubling backoff stops growing at in milliseconds.
+     */
+    @Builder.Default
+    private long maxBackoff = 10000;
+    /**
+     * How long a call may spend being retried in total, in milliseconds. A call that would have to wait
+     * past this fails with the last {@link io.github.slackapi4j.exceptions.SlackRequestLimitException}.
+     */
+    @Builder.Default
+    private long deadline = 60000;
+}
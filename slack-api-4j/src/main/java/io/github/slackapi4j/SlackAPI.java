@@ -29,6 +29,8 @@ package io.github.slackapi4j;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 
 import io.github.slackapi4j.objects.blocks.Block;
@@ -38,27 +40,60 @@ import com.google.common.collect.Maps;
 import com.google.gson.*;
 
 import io.github.slackapi4j.exceptions.SlackException;
+import io.github.slackapi4j.metrics.RetryStats;
 import io.github.slackapi4j.internal.SlackConnection;
 import io.github.slackapi4j.internal.SlackConstants;
-import com.google.gson.reflect.TypeToken;
+import io.github.slackapi4j.internal.Utilities;
+import io.github.slackapi4j.metrics.SlackMetrics;
+import io.github.slackapi4j.transport.SlackTransport;
 import io.github.slackapi4j.objects.*;
 
 @SuppressWarnings("WeakerAccess")
 public class SlackAPI
 {
-    private static boolean s_debug;
+    private static volatile boolean s_debug;
+    /**
+     * Gson and its adapters are thread safe and hold nothing per token, so every api instance shares one.
+     */
+    private static final Gson GSON = createGson();
     private final SlackConnection connection;
-    private final Gson gson;
     @SuppressWarnings("deprecation")
     private final ChannelManager channels;
     @SuppressWarnings("deprecation")
     private final GroupManager groups;
     private final ConversationsManager conversations;
 
-    @SuppressWarnings("deprecation")
     public SlackAPI(final String token)
     {
-        this.connection = new SlackConnection(token);
+        this(token, SlackOptions.DEFAULT);
+    }
+
+    /**
+     * Creates an api that sends its Web API calls through the given transport.
+     * @param token the api token
+     * @param transport a transport such as {@link io.github.slackapi4j.transport.HttpTransport}, this may be shared between several api instances
+     */
+    public SlackAPI(final String token, final SlackTransport transport)
+    {
+        this(token, SlackOptions.builder().transport(transport).build());
+    }
+
+    /**
+     * Creates an api with non default connection settings.
+     * @param token the api token
+     * @param options how to reach the Web API
+     */
+    @SuppressWarnings("deprecation")
+    public SlackAPI(final String token, final SlackOptions options)
+    {
+        this.connection = new SlackConnection(token, options);
+        this.channels = new ChannelManager(this);
+        this.groups = new GroupManager(this);
+        this.conversations = new ConversationsManager(this);
+    }
+
+    private static Gson createGson()
+    {
         final GsonBuilder builder = new GsonBuilder();
         builder.registerTypeAdapter(NormalChannel.class, NormalChannel.getGsonAdapter());
         builder.registerTypeAdapter(GroupChannel.class, GroupChannel.getGsonAdapter());
@@ -70,11 +105,7 @@ public class SlackAPI
         Block.addGsonAdapters(builder);
         CompositionObject.addGsonAdapters(builder);
         Element.addGsonAdapters(builder);
-        this.gson = builder.create();
-
-        this.channels = new ChannelManager(this);
-        this.groups = new GroupManager(this);
-        this.conversations = new ConversationsManager(this);
+        return builder.create();
     }
 
     public static boolean isDebug() {
@@ -85,6 +116,50 @@ public class SlackAPI
         SlackAPI.s_debug = debug;
     }
 
+    /**
+     * @return counts of rate limited calls that were retried, or null if retries are not enabled in {@link SlackOptions}
+     */
+    public RetryStats getRetryStats() {
+        return this.connection.getRetryStats();
+    }
+
+    /**
+     * @return the circuit breakers guarding each method, add a listener to it to hear when one opens or closes,
+     * or null if breakers are not enabled in {@link SlackOptions}
+     */
+    public CircuitBreakers getCircuitBreakers() {
+        return this.connection.getCircuitBreaker();
+    }
+
+    /**
+     * @return latency, traffic and status codes per method, a {@link io.github.slackapi4j.metrics.WireMetrics}
+     * unless {@link SlackOptions} set others
+     */
+    public SlackMetrics getMetrics() {
+        return this.connection.getMetrics();
+    }
+
+    /**
+     * @return how many read calls were answered from the cache, or 0 if {@link SlackOptions} do not cache them
+     */
+    public long getCacheHits() {
+        return this.connection.getCacheHits();
+    }
+
+    /**
+     * @return how many calls may be in flight at the moment, or 0 if the limit is not adaptive in {@link SlackOptions}
+     */
+    public int getConcurrencyLimit() {
+        return this.connection.getConcurrencyLimit();
+    }
+
+    /**
+     * @return how many calls failed because their {@link Deadline} passed
+     */
+    public long getDeadlineMisses() {
+        return this.connection.getDeadlineMisses();
+    }
+
     public ConversationsManager getConversations() {
         return this.conversations;
     }
@@ -139,11 +214,28 @@ public class SlackAPI
     }
 
     public Message sendMessage(final Message message, final MessageOptions options) throws IOException, SlackException {
-        final JsonElement elem = this.gson.toJsonTree(message);
-        final JsonObject obj = elem.getAsJsonObject();
-        this.addDefaultOptions(obj,options);
-        final JsonObject root = this.connection.callMethodHandled(SlackConstants.CHAT_POST, obj);
-        return this.gson.fromJson(root.get("message"), Message.class);
+        final JsonObject root = this.connection.callMethodHandled(SlackConstants.CHAT_POST, this.toMessageBody(message, options));
+        return GSON.fromJson(root.get("message"), Message.class);
+    }
+
+    /**
+     * Sends a message without blocking the calling thread.
+     * @param message a Message
+     * @return a future for the message as it arrived
+     */
+    public CompletableFuture<Message> sendMessageAsync(final Message message) {
+        return this.sendMessageAsync(message, MessageOptions.DEFAULT);
+    }
+
+    public CompletableFuture<Message> sendMessageAsync(final Message message, final MessageOptions options) {
+        return this.connection.callMethodHandledAsync(SlackConstants.CHAT_POST, this.toMessageBody(message, options))
+                .thenApply(root -> GSON.fromJson(root.get("message"), Message.class));
+    }
+
+    private JsonObject toMessageBody(final Message message, final MessageOptions options) {
+        final JsonObject obj = GSON.toJsonTree(message).getAsJsonObject();
+        this.addDefaultOptions(obj, options);
+        return obj;
     }
 
     private void addDefaultOptions(final JsonObject object, final MessageOptions options) {
@@ -181,11 +273,22 @@ public class SlackAPI
     }
 
     public Message sendEphemeral(final Message message, final MessageOptions options) throws IOException, SlackException {
-        final JsonElement obj = this.gson.toJsonTree(message);
-        final JsonObject out = obj.getAsJsonObject();
-        this.addDefaultOptions(out, options);
-        final JsonObject root = this.connection.callMethodHandled(SlackConstants.CHAT_POSTEMPHEMERAL, out);
-        return this.gson.fromJson(root.get("message"), Message.class);
+        final JsonObject root = this.connection.callMethodHandled(SlackConstants.CHAT_POSTEMPHEMERAL, this.toMessageBody(message, options));
+        return GSON.fromJson(root.get("message"), Message.class);
+    }
+
+    /**
+     * Sends an ephemeral message without blocking the calling thread.
+     * @param message a Message
+     * @return a future for the message as sent
+     */
+    public CompletableFuture<Message> sendEphemeralAsync(final Message message) {
+        return this.sendEphemeralAsync(message, MessageOptions.DEFAULT);
+    }
+
+    public CompletableFuture<Message> sendEphemeralAsync(final Message message, final MessageOptions options) {
+        return this.connection.callMethodHandledAsync(SlackConstants.CHAT_POSTEMPHEMERAL, this.toMessageBody(message, options))
+                .thenApply(root -> GSON.fromJson(root.get("message"), Message.class));
     }
     /**
      * @deprecated use {@link #sendMessage(Message)}
@@ -233,7 +336,7 @@ public class SlackAPI
         {
             final JsonArray attachments = new JsonArray();
             for (final Attachment attachment : options.getAttachments()) {
-                attachments.add(this.gson.toJsonTree(attachment));
+                attachments.add(GSON.toJsonTree(attachment));
             }
             params.put("attachments", attachments);
         }
@@ -241,17 +344,35 @@ public class SlackAPI
         params.put("mrkdwn", options.isFormat());
 
         final JsonObject root = this.connection.callMethodHandled(SlackConstants.CHAT_POST, params);
-        final Message out = this.gson.fromJson(root.get("message"), Message.class);
+        final Message out = GSON.fromJson(root.get("message"), Message.class);
         out.setSubtype(Message.MessageType.Sent);
         return out;
     }
 
     @SuppressWarnings("unused")
     List<User> getUsers() throws SlackException, IOException {
-        final JsonObject root = this.connection.callMethodHandled(SlackConstants.USER_LIST);
-        final TypeToken<List<User>> token = new TypeToken<List<User>>() {
-        };
-        return this.gson.fromJson(root.get("members"), token.getType());
+        try (final Stream<User> users = this.streamUsers()) {
+            return Utilities.collect(users);
+        }
+    }
+
+    /**
+     * Streams the workspace's users a page at a time, fetching the next page while this one is read.
+     *
+     * @return a lazy stream, close it to stop fetching pages early
+     */
+    public Stream<User> streamUsers() {
+        return this.iterateUsers().stream();
+    }
+
+    /**
+     * Iterates over the workspace's users a page at a time, fetching the next page while this one is read.
+     *
+     * @return a lazy iterator, page failures are thrown as {@link io.github.slackapi4j.exceptions.SlackPagingException}
+     */
+    public CloseableIterator<User> iterateUsers() {
+        return this.connection.iterateMethodPages(SlackConstants.USER_LIST, Utilities.EMPTY_MAP, "members",
+                GSON.getAdapter(User.class));
     }
     SlackConnection getSlack()
     {
@@ -260,6 +381,6 @@ public class SlackAPI
 
     Gson getGson()
     {
-        return this.gson;
+        return GSON;
     }
 }
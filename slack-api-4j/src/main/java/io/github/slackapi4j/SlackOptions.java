@@ -0,0 +1,115 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import io.github.slackapi4j.metrics.SlackMetrics;
+import io.github.slackapi4j.metrics.WireMetrics;
+import io.github.slackapi4j.transport.HttpTransport;
+import io.github.slackapi4j.transport.SlackTransport;
+import io.github.slackapi4j.transport.TrafficRecorder;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Settings for how a {@link SlackAPI} talks to the Web API.
+ */
+@SuppressWarnings({"FieldMayBeFinal", "RedundantFieldInitialization"})
+@Builder
+@Getter
+public class SlackOptions
+{
+    public static final SlackOptions DEFAULT = builder().build();
+
+    /**
+     * The transport calls are sent through. If not set the HTTPS transport shared by every api instance is used.
+     */
+    private SlackTransport transport;
+    /**
+     * Whether calls are paced against Slack's rate limit tiers before they are sent.
+     * Only turn this off when talking to a stub or simulator.
+     */
+    @Builder.Default
+    private boolean rateLimited = true;
+    /**
+     * How rate limited calls are retried. If not set they fail straight away with a
+     * {@link io.github.slackapi4j.exceptions.SlackRequestLimitException}.
+     */
+    private RetryOptions retry;
+    /**
+     * Whether identical read calls made at the same time share one request and its result.
+     */
+    @Builder.Default
+    private boolean coalesceReads = true;
+    /**
+     * How interactive, normal and bulk calls share the connection. If not set every call is sent as soon as
+     * the rate limiter lets it.
+     */
+    private PriorityOptions priorities;
+    /**
+     * When calls to a failing method stop being sent, for example {@link BreakerOptions#DEFAULT}. If not set
+     * calls are always sent.
+     */
+    private BreakerOptions breaker;
+    /**
+     * How long in milliseconds a call may take, waiting for the rate limiter included, unless a sooner
+     * {@link Deadline} is set. If not set calls are bounded only by a {@link Deadline} and the transport's
+     * own timeouts.
+     */
+    private long timeout;
+    /**
+     * When slow reads are sent a second time. If not set calls are never hedged.
+     */
+    private HedgeOptions hedge;
+    /**
+     * How answers to read calls are cached. If not set every call is sent.
+     */
+    private CacheOptions cache;
+    /**
+     * How the connection learns how many calls it may have in flight. If not set only the priority classes cap them.
+     */
+    private AdaptiveOptions adaptive;
+    /**
+     * Where the connection records latency, traffic and status codes per method. If not set it keeps its own
+     * {@link WireMetrics}; set {@link SlackMetrics#NONE} to record nothing.
+     */
+    private SlackMetrics metrics;
+    /**
+     * Where every Web API exchange and real time frame is recorded, for replaying with a
+     * {@link io.github.slackapi4j.transport.ReplayTransport}. If not set nothing is recorded.
+     */
+    private TrafficRecorder recorder;
+    /**
+     * Whether work the library runs in the background, such as dispatching real time events to listeners, runs on
+     * virtual threads so listeners may block on calls freely. Needs Java 21; older JVMs use pooled daemon threads.
+     */
+    private boolean virtualThreads;
+
+    public SlackTransport getTransport()
+    {
+        return this.transport != null ? this.transport : HttpTransport.getDefault();
+    }
+}
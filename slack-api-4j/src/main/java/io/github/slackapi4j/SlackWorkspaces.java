@@ -0,0 +1,91 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds an api for each of many workspace tokens, for bots installed in many workspaces.
+ *
+ * <p>Every api shares the transport and its connection pool, the Gson codec, the scheduler that
+ * paces async calls and the websocket client behind real time sessions. What is kept per token is
+ * only what Slack tracks per token: rate limit buckets, retry ordering and reads in flight. Adding
+ * a workspace therefore adds no threads and only a few small objects.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public class SlackWorkspaces
+{
+    private final SlackOptions options;
+    private final ConcurrentMap<String, SlackAPI> workspaces = new ConcurrentHashMap<>();
+
+    public SlackWorkspaces()
+    {
+        this(SlackOptions.DEFAULT);
+    }
+
+    /**
+     * @param options the settings every workspace is reached with, including the shared transport
+     */
+    public SlackWorkspaces(final SlackOptions options)
+    {
+        this.options = options;
+    }
+
+    /**
+     * Gets the api for a token, creating it on first use.
+     * @param token the workspace's api token
+     * @return the api, the same instance every time for the same token
+     */
+    public SlackAPI get(final String token)
+    {
+        final SlackAPI api = this.workspaces.get(token);
+        return api != null ? api : this.workspaces.computeIfAbsent(token, t -> new SlackAPI(t, this.options));
+    }
+
+    /**
+     * Forgets a token, for example after the app was uninstalled from its workspace.
+     * @param token the workspace's api token
+     * @return the api that was held for it, or null
+     */
+    public SlackAPI remove(final String token)
+    {
+        return this.workspaces.remove(token);
+    }
+
+    public int size()
+    {
+        return this.workspaces.size();
+    }
+
+    public Collection<SlackAPI> getWorkspaces()
+    {
+        return Collections.unmodifiableCollection(this.workspaces.values());
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.slackapi4j.exceptions;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+
+import io.github.slackapi4j.internal.SlackConstants;
+
+/**
+ * Thrown without calling Slack while a method's circuit breaker is open after repeated failures.
+ */
+public class SlackCircuitOpenException extends IOException
+{
+    private static final long serialVersionUID = -4527318722011904870L;
+
+    private final SlackConstants method;
+    private final long endTime;
+
+    /**
+     * @param method  the method that is failing
+     * @param endTime when a probe call will next be let through, in epoch milliseconds
+     */
+    public SlackCircuitOpenException(final SlackConstants method, final long endTime)
+    {
+        super("Calls to " + method + " are failing, not sending until the circuit closes");
+        this.method = method;
+        this.endTime = endTime;
+    }
+
+    public SlackConstants getMethod()
+    {
+        return this.method;
+    }
+
+    /**
+     * @return when a probe call will next be let through, in epoch milliseconds
+     */
+    public long getRetryTime()
+    {
+        return this.endTime;
+    }
+}
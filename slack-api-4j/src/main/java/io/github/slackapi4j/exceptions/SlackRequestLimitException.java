@@ -32,13 +32,20 @@ public class SlackRequestLimitException extends IOException
 {
     private static final long serialVersionUID = 3219366585654462054L;
 
-    private long endTime;
+    private final long endTime;
     
+    /**
+     * @param endTime when the call may be retried, in epoch milliseconds
+     */
     public SlackRequestLimitException(final long endTime)
     {
         super("Too many requests made in a short time");
+        this.endTime = endTime;
     }
     
+    /**
+     * @return when the call may be retried, in epoch milliseconds
+     */
     public long getRetryTime()
     {
         return this.endTime;
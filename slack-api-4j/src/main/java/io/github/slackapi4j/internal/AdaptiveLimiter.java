@@ -0,0 +1,237 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Ticker;
+import io.github.slackapi4j.AdaptiveOptions;
+import io.github.slackapi4j.RequestPriority;
+
+/**
+ * Caps the calls a connection has in flight at a limit it learns from how Slack answers, growing it
+ * additively while latency holds steady and cutting it multiplicatively on a 429 or a latency spike.
+ * Each method has its own usual latency, so a spike means a call was slow for its method rather
+ * than slower than a cheap method's calls.
+ *
+ * <p>Permits come from a semaphore whose size follows the limit. Shrinking it takes permits away,
+ * which can leave more calls in flight than the new limit until enough of them finish. Async calls
+ * wait in a queue per priority and interactive ones are started first.</p>
+ *
+ * @see AdaptiveOptions
+ */
+final class AdaptiveLimiter implements Permits {
+    private static final double LIMITED_BACKOFF = 0.5;
+    private static final double LATENCY_BACKOFF = 0.9;
+    /**
+     * How much each answer moves its method's usual latency.
+     */
+    private static final double SMOOTHING = 0.05;
+
+    private final AdaptiveOptions options;
+    private final Ticker ticker;
+    private final Gate permits;
+    private final List<Queue<Runnable>> queued = new ArrayList<>();
+    private final AtomicInteger draining = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Guarded by this
+    private double limit;
+    private final double[] latencies = new double[SlackConstants.values().length];
+    private long lastCut;
+    private volatile int granted;
+
+    AdaptiveLimiter(final AdaptiveOptions options, final Ticker ticker) {
+        this.options = options;
+        this.ticker = ticker;
+        this.limit = options.getInitialLimit();
+        this.granted = options.getInitialLimit();
+        this.permits = new Gate(this.granted);
+        Arrays.fill(this.latencies, -1);
+        for (int i = 0; i < RequestPriority.values().length; i++) {
+            this.queued.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * @return how many calls may be in flight at the moment
+     */
+    int getLimit() {
+        return this.granted;
+    }
+
+    @Override
+    public void acquire() throws InterruptedException {
+        this.permits.acquire();
+        this.inFlight.incrementAndGet();
+    }
+
+    @Override
+    public boolean tryAcquire(final long nanos) throws InterruptedException {
+        if (this.permits.tryAcquire(nanos, TimeUnit.NANOSECONDS)) {
+            this.inFlight.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Runs a task once a permit is free. The task owns the permit and must {@link #release} it.
+     */
+    void submit(final RequestPriority priority, final Runnable task) {
+        this.queued.get(priority.ordinal()).add(task);
+        this.drain();
+    }
+
+    @Override
+    public void release() {
+        this.inFlight.decrementAndGet();
+        this.permits.release();
+        this.drain();
+    }
+
+    /**
+     * Learns from a call that was answered.
+     *
+     * @param method the method called
+     * @param nanos  how long it took
+     */
+    void onAnswered(final SlackConstants method, final long nanos) {
+        final int delta;
+        synchronized (this) {
+            final int index = method.ordinal();
+            if (this.latencies[index] < 0) {
+                this.latencies[index] = nanos;
+            }
+            if (nanos > this.latencies[index] * this.options.getLatencyTolerance()) {
+                delta = this.cut(method, LATENCY_BACKOFF, this.ticker.read());
+            } else {
+                this.latencies[index] += (nanos - this.latencies[index]) * SMOOTHING;
+                // Only grow a limit that is being used, or it would grow without bound while idle
+                delta = this.inFlight.get() * 2 >= this.granted ? this.resize(this.limit + 1 / this.limit) : 0;
+            }
+        }
+        this.apply(delta);
+    }
+
+    /**
+     * Learns from a call Slack answered with a 429.
+     *
+     * @param method the method called
+     */
+    void onLimited(final SlackConstants method) {
+        final int delta;
+        synchronized (this) {
+            delta = this.cut(method, LIMITED_BACKOFF, this.ticker.read());
+        }
+        this.apply(delta);
+    }
+
+    private int cut(final SlackConstants method, final double factor, final long now) {
+        // Answers to calls sent before the last cut say nothing about the new limit
+        final double latency = this.latencies[method.ordinal()];
+        if (latency >= 0 && now - this.lastCut < latency) {
+            return 0;
+        }
+        this.lastCut = now;
+        return this.resize(this.limit * factor);
+    }
+
+    private int resize(final double limit) {
+        this.limit = Math.max(this.options.getMinLimit(), Math.min(this.options.getMaxLimit(), limit));
+        final int before = this.granted;
+        this.granted = (int) this.limit;
+        return this.granted - before;
+    }
+
+    private void apply(final int delta) {
+        if (delta > 0) {
+            this.permits.release(delta);
+            this.drain();
+        } else if (delta < 0) {
+            this.permits.reduce(-delta);
+        }
+    }
+
+    private void drain() {
+        // As in PriorityLane, a task that completes straight away releases from inside this loop
+        if (this.draining.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Runnable task;
+            while ((task = this.next()) != null) {
+                this.inFlight.incrementAndGet();
+                task.run();
+            }
+            missed = this.draining.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Takes a permit and the most urgent queued task, or neither.
+     */
+    private Runnable next() {
+        for (final Queue<Runnable> queue : this.queued) {
+            if (!queue.isEmpty()) {
+                if (!this.permits.tryAcquire()) {
+                    return null;
+                }
+                final Runnable task = queue.poll();
+                if (task == null) {
+                    this.permits.release();
+                    return null;
+                }
+                return task;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A semaphore that can be shrunk.
+     */
+    private static final class Gate extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        private Gate(final int permits) {
+            super(permits);
+        }
+
+        private void reduce(final int permits) {
+            this.reducePermits(permits);
+        }
+    }
+}
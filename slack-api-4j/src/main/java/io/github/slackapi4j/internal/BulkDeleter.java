@@ -0,0 +1,194 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import com.google.common.collect.ImmutableMap;
+import io.github.slackapi4j.Deadline;
+import io.github.slackapi4j.PurgeOptions;
+import io.github.slackapi4j.PurgeProgress;
+import io.github.slackapi4j.RequestPriority;
+import io.github.slackapi4j.exceptions.SlackAuthException;
+import io.github.slackapi4j.exceptions.SlackException;
+import io.github.slackapi4j.exceptions.SlackPagingException;
+import io.github.slackapi4j.exceptions.SlackRequestLimitException;
+import io.github.slackapi4j.objects.Message;
+
+/**
+ * Deletes a stream of messages with a bounded number of deletes in flight.
+ *
+ * <p>Deletes are sent as bulk work without blocking, so the connection's rate limiter paces them to
+ * chat.delete's tier and replies to users overtake them. A delete Slack answers with a 429 is sent again
+ * once the limiter allows, until it runs out of {@link PurgeOptions#getMaxAttempts()} or the deadline the
+ * purge was started with passes, which stops the purge. A message Slack refuses to delete is counted and skipped, but a failure to reach
+ * Slack, or a token that is no longer valid, stops the purge once the deletes in flight are done.</p>
+ *
+ * <p>Deletes complete out of order, so the checkpoint only moves past a message once it and every newer
+ * one have been dealt with. Resuming from it may send a few deletes again, which Slack answers with
+ * {@code message_not_found}, counted as deleted.</p>
+ */
+public class BulkDeleter {
+    private final SlackConnection connection;
+    private final String channel;
+    private final Semaphore window;
+    private final int parallelism;
+    private final int maxAttempts;
+    /**
+     * The deadline of the thread that started the purge, resends are made from callback threads.
+     */
+    private final Deadline deadline;
+    private final Consumer<PurgeProgress> listener;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    /**
+     * The deletes sent and not yet passed by the checkpoint, newest first.
+     */
+    private final Deque<Pending> pending = new ArrayDeque<>();
+    private long deleted;
+    private long failed;
+    private String checkpoint;
+
+    public BulkDeleter(final SlackConnection connection, final String channel, final PurgeOptions options) {
+        this.connection = connection;
+        this.channel = channel;
+        this.parallelism = Math.max(1, options.getParallelism());
+        this.window = new Semaphore(this.parallelism);
+        this.maxAttempts = Math.max(1, options.getMaxAttempts());
+        this.deadline = Deadline.current();
+        this.listener = options.getListener();
+        this.checkpoint = options.getResumeFrom();
+    }
+
+    /**
+     * Deletes every message, newest first, and waits for the last delete.
+     *
+     * @param messages the messages, newest first
+     * @return what was done
+     * @throws IOException if Slack could not be reached, the checkpoint tells where to resume from
+     */
+    public PurgeProgress delete(final Iterator<Message> messages) throws SlackException, IOException {
+        try {
+            while (this.failure.get() == null && messages.hasNext()) {
+                final Message message = messages.next();
+                this.window.acquire();
+                final Pending sent = new Pending(message.getTs());
+                synchronized (this) {
+                    this.pending.addLast(sent);
+                }
+                this.send(sent);
+            }
+            // Wait out the deletes still in flight
+            this.window.acquire(this.parallelism);
+            this.window.release(this.parallelism);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted purging " + this.channel);
+        } catch (final SlackPagingException e) {
+            this.failure.compareAndSet(null, e.getCause());
+        }
+        final Throwable cause = this.failure.get();
+        if (cause instanceof SlackException) {
+            throw (SlackException) cause;
+        } else if (cause instanceof IOException) {
+            throw (IOException) cause;
+        } else if (cause != null) {
+            throw new IOException(cause);
+        }
+        return this.progress();
+    }
+
+    @SuppressWarnings("try")
+    private void send(final Pending message) {
+        final Map<String, Object> params = ImmutableMap.<String, Object>builder()
+                .put("channel", this.channel)
+                .put("ts", message.ts)
+                .build();
+        message.attempts++;
+        // A resend runs on a callback thread, which has no priority or deadline of its own
+        try (RequestPriority.Scope ignored = RequestPriority.BULK.enter();
+             Deadline.Scope ignoredDeadline = this.deadline == null ? null : this.deadline.enter()) {
+            this.connection.callMethodHandledAsync(SlackConstants.CHAT_DELETE, params).whenComplete((result, error) -> {
+                final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof SlackRequestLimitException && message.attempts < this.maxAttempts
+                        && (this.deadline == null || !this.deadline.isExpired())) {
+                    // The limiter holds chat.delete back until Slack's Retry-After is over
+                    this.send(message);
+                    return;
+                }
+                if (cause == null || cause instanceof SlackException && "message_not_found".equals(((SlackException) cause).getCode())) {
+                    this.done(message, true);
+                } else if (cause instanceof SlackException && !(cause instanceof SlackAuthException)) {
+                    this.done(message, false);
+                } else {
+                    this.failure.compareAndSet(null, cause);
+                }
+                this.window.release();
+            });
+        }
+    }
+
+    private synchronized void done(final Pending message, final boolean deleted) {
+        message.done = true;
+        if (deleted) {
+            this.deleted++;
+        } else {
+            this.failed++;
+        }
+        while (!this.pending.isEmpty() && this.pending.peekFirst().done) {
+            this.checkpoint = this.pending.pollFirst().ts;
+        }
+        if (this.listener != null) {
+            this.listener.accept(this.progress());
+        }
+    }
+
+    private synchronized PurgeProgress progress() {
+        return new PurgeProgress(this.deleted, this.failed, this.checkpoint);
+    }
+
+    private static final class Pending {
+        private final String ts;
+        private boolean done;
+        /**
+         * Only touched by the delete's own sends, which follow one another.
+         */
+        private int attempts;
+
+        private Pending(final String ts) {
+            this.ts = ts;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.base.Ticker;
+import io.github.slackapi4j.BreakerOptions;
+import io.github.slackapi4j.CircuitBreakers;
+import io.github.slackapi4j.CircuitState;
+import io.github.slackapi4j.eventListeners.CircuitListener;
+
+/**
+ * Stops sending calls to a method that keeps failing, so it cannot take the threads and connections
+ * calls to healthy methods need.
+ *
+ * <p>Each method has its own breaker, created on first use. A caller asks {@link #tryAcquire} for a
+ * {@link Permit} before sending and reports how the call went with it through {@link #onSuccess},
+ * {@link #onFailure} or, if it never finished, {@link #onIgnored}. A permit only counts in the state it
+ * was handed out in, so calls sent before the breaker opened say nothing about whether it may close.
+ * Breakers lock only themselves, so calls to different methods never contend.</p>
+ *
+ * @see BreakerOptions
+ */
+public class CircuitBreaker implements CircuitBreakers {
+    private static final byte OK = 0;
+    private static final byte SLOW = 1;
+    private static final byte FAILED = 2;
+
+    private final BreakerOptions options;
+    private final Ticker ticker;
+    private final long slowCall;
+    private final long openDuration;
+    private final AtomicReferenceArray<Endpoint> endpoints = new AtomicReferenceArray<>(SlackConstants.values().length);
+    private final List<CircuitListener> listeners = new CopyOnWriteArrayList<>();
+
+    public CircuitBreaker(final BreakerOptions options, final Ticker ticker) {
+        this.options = options;
+        this.ticker = ticker;
+        this.slowCall = TimeUnit.MILLISECONDS.toNanos(options.getSlowCall());
+        this.openDuration = TimeUnit.MILLISECONDS.toNanos(options.getOpenDuration());
+    }
+
+    @Override
+    public void addListener(final CircuitListener listener) {
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(final CircuitListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    @Override
+    public CircuitState getState(final SlackConstants method) {
+        final Endpoint endpoint = this.endpoints.get(method.ordinal());
+        if (endpoint == null) {
+            return CircuitState.CLOSED;
+        }
+        synchronized (endpoint) {
+            return endpoint.state;
+        }
+    }
+
+    /**
+     * Asks to send a call.
+     *
+     * @param method the method being called
+     * @return the permit to report the call's outcome with, check {@link Permit#isGranted()} before sending
+     */
+    public Permit tryAcquire(final SlackConstants method) {
+        final Endpoint endpoint = this.endpoint(method);
+        final long now = this.ticker.read();
+        final CircuitState from;
+        final CircuitState to;
+        final Permit permit;
+        synchronized (endpoint) {
+            from = endpoint.state;
+            if (from == CircuitState.OPEN) {
+                final long remaining = endpoint.openedAt + this.openDuration - now;
+                if (remaining > 0) {
+                    return new Permit(method, endpoint.generation, false, remaining);
+                }
+                endpoint.halfOpen();
+            }
+            if (endpoint.state == CircuitState.HALF_OPEN) {
+                if (endpoint.probes >= this.options.getProbeCalls()) {
+                    // Probes are out, the next ones are let through as soon as they report back
+                    return new Permit(method, endpoint.generation, false, 1);
+                }
+                endpoint.probes++;
+                permit = new Permit(method, endpoint.generation, true, 0);
+            } else {
+                permit = new Permit(method, endpoint.generation, false, 0);
+            }
+            to = endpoint.state;
+        }
+        this.fire(method, from, to);
+        return permit;
+    }
+
+    /**
+     * @param permit the call's permit
+     * @param start  the ticker time the call was sent at
+     */
+    public void onSuccess(final Permit permit, final long start) {
+        this.record(permit, this.ticker.read() - start >= this.slowCall ? SLOW : OK);
+    }
+
+    public void onFailure(final Permit permit) {
+        this.record(permit, FAILED);
+    }
+
+    /**
+     * Gives back a call that was let through but never finished, for example because it was cancelled.
+     */
+    public void onIgnored(final Permit permit) {
+        final Endpoint endpoint = this.endpoint(permit.method);
+        synchronized (endpoint) {
+            if (permit.probe && endpoint.generation == permit.generation && endpoint.probes > 0) {
+                endpoint.probes--;
+            }
+        }
+    }
+
+    private void record(final Permit permit, final byte outcome) {
+        final SlackConstants method = permit.method;
+        final Endpoint endpoint = this.endpoint(method);
+        final CircuitState from;
+        final CircuitState to;
+        synchronized (endpoint) {
+            from = endpoint.state;
+            if (endpoint.generation != permit.generation) {
+                // Calls that were already in flight when the breaker changed state are not counted
+                return;
+            }
+            if (from == CircuitState.HALF_OPEN) {
+                // A slow probe means the method has not recovered from what opened the breaker
+                if (outcome != OK) {
+                    endpoint.open(this.ticker.read());
+                } else if (++endpoint.probesPassed >= this.options.getProbeCalls()) {
+                    endpoint.close();
+                }
+            } else if (from == CircuitState.CLOSED) {
+                endpoint.add(outcome);
+                if (endpoint.calls >= this.options.getMinimumCalls()
+                        && (endpoint.failed >= this.options.getFailureRate() * endpoint.calls
+                        || endpoint.slow >= this.options.getSlowCallRate() * endpoint.calls)) {
+                    endpoint.open(this.ticker.read());
+                }
+            }
+            to = endpoint.state;
+        }
+        this.fire(method, from, to);
+    }
+
+    private void fire(final SlackConstants method, final CircuitState from, final CircuitState to) {
+        if (from == to) {
+            return;
+        }
+        for (final CircuitListener listener : this.listeners) {
+            listener.onStateChange(method, from, to);
+        }
+    }
+
+    private Endpoint endpoint(final SlackConstants method) {
+        final Endpoint endpoint = this.endpoints.get(method.ordinal());
+        if (endpoint != null) {
+            return endpoint;
+        }
+        this.endpoints.compareAndSet(method.ordinal(), null, new Endpoint(this.options.getWindowSize()));
+        return this.endpoints.get(method.ordinal());
+    }
+
+    /**
+     * The state of one method's breaker, guarded by its own monitor.
+     */
+    private static final class Endpoint {
+        private final byte[] window;
+        private int next;
+        private int calls;
+        private int failed;
+        private int slow;
+        private CircuitState state = CircuitState.CLOSED;
+        private long openedAt;
+        private int probes;
+        private int probesPassed;
+        /**
+         * Counts state changes, so a permit can tell whether it was handed out in the current state.
+         */
+        private long generation;
+
+        private Endpoint(final int windowSize) {
+            this.window = new byte[windowSize];
+        }
+
+        private void add(final byte outcome) {
+            if (this.calls == this.window.length) {
+                this.count(this.window[this.next], -1);
+            } else {
+                this.calls++;
+            }
+            this.window[this.next] = outcome;
+            this.count(outcome, 1);
+            this.next = (this.next + 1) % this.window.length;
+        }
+
+        private void count(final byte outcome, final int delta) {
+            if (outcome == FAILED) {
+                this.failed += delta;
+            } else if (outcome == SLOW) {
+                this.slow += delta;
+            }
+        }
+
+        private void open(final long now) {
+            this.state = CircuitState.OPEN;
+            this.openedAt = now;
+            this.generation++;
+        }
+
+        private void halfOpen() {
+            this.state = CircuitState.HALF_OPEN;
+            this.probes = 0;
+            this.probesPassed = 0;
+            this.generation++;
+        }
+
+        private void close() {
+            this.state = CircuitState.CLOSED;
+            this.generation++;
+            this.next = 0;
+            this.calls = 0;
+            this.failed = 0;
+            this.slow = 0;
+        }
+    }
+
+    /**
+     * The breaker's answer to a call asking to be sent.
+     */
+    public static final class Permit {
+        private final SlackConstants method;
+        private final long generation;
+        private final boolean probe;
+        private final long wait;
+
+        private Permit(final SlackConstants method, final long generation, final boolean probe, final long wait) {
+            this.method = method;
+            this.generation = generation;
+            this.probe = probe;
+            this.wait = wait;
+        }
+
+        /**
+         * @return true if the call may be sent
+         */
+        public boolean isGranted() {
+            return this.wait == 0;
+        }
+
+        /**
+         * @return 0 if the call may be sent, otherwise how many nanoseconds until the breaker lets a probe through
+         */
+        public long getWait() {
+            return this.wait;
+        }
+    }
+}
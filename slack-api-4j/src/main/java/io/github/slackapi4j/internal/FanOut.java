@@ -0,0 +1,153 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.common.collect.Maps;
+import io.github.slackapi4j.exceptions.SlackPagingException;
+
+/**
+ * Makes one non blocking call per key with a bounded number in flight, and hands back each result as it completes.
+ *
+ * <p>Calls are sent from the iterating thread, so they carry its {@link io.github.slackapi4j.RequestPriority}
+ * and {@link io.github.slackapi4j.Deadline}, and the connection's rate limiter paces them. A new call is
+ * only sent once a result has been taken, so at most {@code parallelism} results are held however many keys
+ * there are. Results come in the order they complete.</p>
+ *
+ * <p>The first failed call is thrown from {@link #next()}, as a {@link SlackPagingException} if it is checked,
+ * and the calls still in flight are cancelled. The iterator is not thread safe.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class FanOut<K, V> implements Iterator<Map.Entry<K, V>>, AutoCloseable {
+    private final Iterator<? extends K> keys;
+    private final Function<? super K, CompletableFuture<V>> call;
+    private final int parallelism;
+    private final BlockingQueue<Completion<K, V>> completed = new LinkedBlockingQueue<>();
+    private final Set<CompletableFuture<V>> inFlight = ConcurrentHashMap.newKeySet();
+    /**
+     * Calls sent whose results have not been taken yet.
+     */
+    private int outstanding;
+    private boolean closed;
+
+    /**
+     * @param keys        what to call for
+     * @param call        makes the call for a key
+     * @param parallelism how many calls may be in flight at once
+     */
+    public FanOut(final Iterator<? extends K> keys, final Function<? super K, CompletableFuture<V>> call, final int parallelism) {
+        this.keys = keys;
+        this.call = call;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.closed && this.outstanding < this.parallelism && this.keys.hasNext()) {
+            final K key = this.keys.next();
+            final CompletableFuture<V> sent = this.call.apply(key);
+            this.outstanding++;
+            this.inFlight.add(sent);
+            sent.whenComplete((value, error) -> {
+                this.inFlight.remove(sent);
+                this.completed.add(new Completion<>(key, value, error));
+            });
+        }
+        return !this.closed && this.outstanding > 0;
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Completion<K, V> completion;
+        try {
+            completion = this.completed.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.close();
+            throw new SlackPagingException(new InterruptedIOException("Interrupted waiting for a call"));
+        }
+        this.outstanding--;
+        if (completion.error != null) {
+            this.close();
+            final Throwable cause = completion.error instanceof CompletionException && completion.error.getCause() != null
+                    ? completion.error.getCause() : completion.error;
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new SlackPagingException(cause);
+        }
+        return Maps.immutableEntry(completion.key, completion.value);
+    }
+
+    /**
+     * Stops sending calls and cancels the ones still in flight.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        for (final CompletableFuture<V> sent : this.inFlight) {
+            sent.cancel(true);
+        }
+    }
+
+    /**
+     * @return a sequential stream over the results as they complete, that cancels the calls in flight when closed
+     */
+    public Stream<Map.Entry<K, V>> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    private static final class Completion<K, V> {
+        private final K key;
+        private final V value;
+        private final Throwable error;
+
+        private Completion(final K key, final V value, final Throwable error) {
+            this.key = key;
+            this.value = value;
+            this.error = error;
+        }
+    }
+}
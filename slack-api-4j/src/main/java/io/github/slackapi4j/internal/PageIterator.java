@@ -0,0 +1,119 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import io.github.slackapi4j.CloseableIterator;
+import io.github.slackapi4j.exceptions.SlackPagingException;
+
+/**
+ * Walks every item of a cursor paginated list, fetching pages as it goes.
+ *
+ * <p>Nothing is sent until the first call to {@link #hasNext()}, and pages are only fetched once the caller
+ * reaches the end of the one before. As soon as a page is
+ * taken the request for the next one is sent in the background, so at most the page being read and
+ * the one after it are held. The request is sent from the iterating thread, so it carries that thread's
+ * {@link io.github.slackapi4j.RequestPriority} and {@link io.github.slackapi4j.Deadline}.</p>
+ *
+ * <p>A failed page is thrown from {@link #hasNext()} as a {@link SlackPagingException}. The iterator
+ * is not thread safe.</p>
+ *
+ * @param <T> the item type
+ */
+public class PageIterator<T> implements CloseableIterator<T> {
+    private final Function<String, CompletableFuture<Page<T>>> fetch;
+    private Iterator<T> items;
+    private CompletableFuture<Page<T>> next;
+    private boolean started;
+
+    /**
+     * @param fetch requests the page at a cursor, null for the first page
+     */
+    public PageIterator(final Function<String, CompletableFuture<Page<T>>> fetch) {
+        this.fetch = fetch;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!this.started) {
+            this.started = true;
+            this.next = this.fetch.apply(null);
+        }
+        while (this.items == null || !this.items.hasNext()) {
+            if (this.next == null) {
+                return false;
+            }
+            final Page<T> page = await(this.next);
+            this.next = page.getNextCursor() == null ? null : this.fetch.apply(page.getNextCursor());
+            this.items = page.getItems().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.items.next();
+    }
+
+    /**
+     * Stops iterating and cancels the request for the next page if it is still in flight.
+     */
+    @Override
+    public void close() {
+        // A closed iterator never sends its first request
+        this.started = true;
+        if (this.next != null) {
+            this.next.cancel(true);
+            this.next = null;
+        }
+        this.items = null;
+    }
+
+    private static <T> T await(final CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new SlackPagingException(new InterruptedIOException("Interrupted waiting for a page"));
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new SlackPagingException(e.getCause());
+        }
+    }
+}
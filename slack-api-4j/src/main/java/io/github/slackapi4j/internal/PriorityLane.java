@@ -0,0 +1,92 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many calls of one {@link io.github.slackapi4j.RequestPriority} are in flight at once.
+ *
+ * <p>Blocking callers wait for a permit. Async calls are queued and started, in order, as permits are
+ * released. Whoever releases a permit starts the next queued call, so no thread is spent waiting.</p>
+ */
+final class PriorityLane implements Permits {
+    private final Semaphore permits;
+    private final Queue<Runnable> queued = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger draining = new AtomicInteger();
+
+    PriorityLane(final int concurrency) {
+        this.permits = new Semaphore(concurrency);
+    }
+
+    @Override
+    public void acquire() throws InterruptedException {
+        this.permits.acquire();
+    }
+
+    @Override
+    public boolean tryAcquire(final long nanos) throws InterruptedException {
+        return this.permits.tryAcquire(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs a task once a permit is free. The task owns the permit and must {@link #release} it.
+     */
+    void submit(final Runnable task) {
+        this.queued.add(task);
+        this.drain();
+    }
+
+    @Override
+    public void release() {
+        this.permits.release();
+        this.drain();
+    }
+
+    private void drain() {
+        // A task that completes straight away releases from inside this loop, the outer call picks that up
+        if (this.draining.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (!this.queued.isEmpty() && this.permits.tryAcquire()) {
+                final Runnable task = this.queued.poll();
+                if (task == null) {
+                    this.permits.release();
+                    break;
+                }
+                task.run();
+            }
+            missed = this.draining.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
@@ -0,0 +1,197 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Paces Web API calls against Slack's rate limits before they are sent.
+ *
+ * <p>Every method has its own token bucket sized from its {@link RateTier}, so a 429 on one
+ * method never holds back calls to another. Posting methods are additionally paced per channel.
+ * Callers {@link #reserve reserve} a slot and wait out the returned delay before sending.</p>
+ *
+ * <p>The limiter is thread safe and lock free: buckets are created on first use, held in
+ * atomic arrays and maps, and each one is a single atomic value.</p>
+ */
+public class RateLimiter {
+    private final Ticker ticker;
+    private final boolean enabled;
+    /**
+     * Indexed by method ordinal and filled on first use, so an idle token only pays for the methods it calls.
+     */
+    private final AtomicReferenceArray<Bucket> methods = new AtomicReferenceArray<>(SlackConstants.values().length);
+    private final ConcurrentMap<String, Bucket> channels = CacheBuilder.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .<String, Bucket>build()
+            .asMap();
+
+    public RateLimiter() {
+        this(Ticker.systemTicker(), true);
+    }
+
+    /**
+     * @param ticker  the time source
+     * @param enabled if false every call is let through straight away
+     */
+    public RateLimiter(final Ticker ticker, final boolean enabled) {
+        this.ticker = ticker;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Reserves the next free slot for a call.
+     *
+     * @param method  the method being called
+     * @param channel the channel the call posts to, or null
+     * @return how long in nanoseconds the caller must wait before sending
+     */
+    public long reserve(final SlackConstants method, final String channel) {
+        return this.reserve(method, channel, 1);
+    }
+
+    /**
+     * Reserves the next free slot for a call that may only draw on part of the method's burst.
+     *
+     * @param method  the method being called
+     * @param channel the channel the call posts to, or null
+     * @param share   the part of the burst the call may draw on, at 1 or more it always gets a slot
+     * @return how long in nanoseconds the caller must wait before sending, or if negative how long to wait
+     * before asking again, no slot having been taken
+     */
+    public long reserve(final SlackConstants method, final String channel, final double share) {
+        if (!this.enabled || method.getTier() == null) {
+            return 0;
+        }
+        final long now = this.ticker.read();
+        long wait = this.methodBucket(method, now).reserve(now, share);
+        if (wait < 0) {
+            return wait;
+        }
+        if (channel != null && method.isChannelLimited()) {
+            wait = Math.max(wait, this.channelBucket(channel, now).reserve(now, 1));
+        }
+        return wait;
+    }
+
+    /**
+     * Looks, without reserving anything, whether a call drawing on part of the method's burst would get a slot now.
+     *
+     * @param method the method to be called
+     * @param share  the part of the burst the call may draw on
+     * @return true if the call would not have to wait
+     */
+    public boolean isAvailable(final SlackConstants method, final double share) {
+        if (!this.enabled || method.getTier() == null) {
+            return true;
+        }
+        final Bucket bucket = this.methods.get(method.ordinal());
+        return bucket == null || bucket.isAvailable(this.ticker.read(), share);
+    }
+
+    /**
+     * Holds back further calls to a method after Slack answered with a 429.
+     *
+     * @param method     the method that was limited
+     * @param retryAfter the Retry-After delay Slack asked for in milliseconds
+     */
+    public void penalize(final SlackConstants method, final long retryAfter) {
+        if (!this.enabled || method.getTier() == null) {
+            return;
+        }
+        final long now = this.ticker.read();
+        this.methodBucket(method, now).blockUntil(now + TimeUnit.MILLISECONDS.toNanos(retryAfter));
+    }
+
+    private Bucket methodBucket(final SlackConstants method, final long now) {
+        final Bucket bucket = this.methods.get(method.ordinal());
+        if (bucket != null) {
+            return bucket;
+        }
+        this.methods.compareAndSet(method.ordinal(), null, new Bucket(method.getTier(), now));
+        return this.methods.get(method.ordinal());
+    }
+
+    private Bucket channelBucket(final String channel, final long now) {
+        // Look first: computeIfAbsent locks even when the bucket is already there
+        final Bucket bucket = this.channels.get(channel);
+        return bucket != null ? bucket : this.channels.computeIfAbsent(channel, c -> new Bucket(RateTier.PER_CHANNEL, now));
+    }
+
+    /**
+     * A token bucket that hands out reservations: a caller that finds it empty is given the time
+     * the next token will be free instead of being refused.
+     *
+     * <p>The bucket is kept as a single theoretical arrival time (the generic cell rate algorithm):
+     * the time the bucket would be empty again if no more calls came. A call may go once that time is
+     * no more than the burst allowance ahead of it. Being one value it is updated with a compare and
+     * set, so threads calling the same method never block each other.</p>
+     */
+    private static final class Bucket {
+        private final long interval;
+        private final long tolerance;
+        private final AtomicLong arrival;
+
+        private Bucket(final RateTier tier, final long now) {
+            this.interval = tier.getIntervalNanos();
+            this.tolerance = (tier.getBurst() - 1) * this.interval;
+            this.arrival = new AtomicLong(now);
+        }
+
+        private long reserve(final long now, final double share) {
+            while (true) {
+                final long current = this.arrival.get();
+                if (share < 1) {
+                    final long limit = now + (long) (this.tolerance * share);
+                    if (current > limit) {
+                        return limit - current;
+                    }
+                }
+                final long start = Math.max(current, now);
+                if (this.arrival.compareAndSet(current, start + this.interval)) {
+                    return Math.max(0, start - this.tolerance - now);
+                }
+            }
+        }
+
+        private boolean isAvailable(final long now, final double share) {
+            return this.arrival.get() <= now + (long) (this.tolerance * share);
+        }
+
+        private void blockUntil(final long until) {
+            // The first call after the penalty may go as soon as it is over
+            final long blocked = until + this.tolerance;
+            this.arrival.accumulateAndGet(blocked, Math::max);
+        }
+    }
+}
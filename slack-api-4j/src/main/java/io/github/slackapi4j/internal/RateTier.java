@@ -0,0 +1,74 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slack's Web API rate limit tiers. Each method is limited per workspace to roughly the
+ * given number of calls a minute, with a small burst allowance on top.
+ */
+public enum RateTier {
+    TIER_1(1, 1),
+    TIER_2(20, 3),
+    TIER_3(50, 5),
+    TIER_4(100, 10),
+    /**
+     * Methods such as chat.postMessage whose limit is set per channel rather than by a tier.
+     */
+    SPECIAL(600, 20),
+    /**
+     * The per channel limit for posting: about one message a second, with short bursts.
+     */
+    PER_CHANNEL(60, 3);
+
+    private final int perMinute;
+    private final int burst;
+
+    RateTier(final int perMinute, final int burst) {
+        this.perMinute = perMinute;
+        this.burst = burst;
+    }
+
+    public int getPerMinute() {
+        return this.perMinute;
+    }
+
+    /**
+     * @return the number of calls that may be made back to back before pacing starts
+     */
+    public int getBurst() {
+        return this.burst;
+    }
+
+    /**
+     * @return the steady state interval between calls in nanoseconds
+     */
+    public long getIntervalNanos() {
+        return TimeUnit.MINUTES.toNanos(1) / this.perMinute;
+    }
+}
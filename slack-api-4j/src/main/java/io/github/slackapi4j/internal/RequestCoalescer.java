@@ -0,0 +1,215 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.slackapi4j.Deadline;
+import io.github.slackapi4j.exceptions.SlackDeadlineException;
+
+/**
+ * Lets identical read calls that are made at the same time share one request.
+ *
+ * <p>The first caller for a key sends the request; anyone asking for the same key before it
+ * completes is handed the same result, or the same failure. Once it completes the key is
+ * forgotten, so nothing is cached. The shared result is the same object for every caller and
+ * must not be modified. A caller that joins a request waits for it only until its own deadline.</p>
+ */
+public class RequestCoalescer {
+    private final ConcurrentMap<Object, Flight<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+    private final Runnable onDeadlineMiss;
+
+    /**
+     * @param onDeadlineMiss told when a caller's deadline passes while it waits for a shared request
+     */
+    public RequestCoalescer(final Runnable onDeadlineMiss) {
+        this.onDeadlineMiss = onDeadlineMiss;
+    }
+
+    /**
+     * @return how many calls were answered by another call's request
+     */
+    public long getCoalesced() {
+        return this.coalesced.sum();
+    }
+
+    /**
+     * Runs a blocking call, or waits for an identical one that is already running.
+     *
+     * @param key      identifies identical calls
+     * @param deadline when the caller must have its answer by, or null
+     * @param call     sends the request
+     * @param <R>      the result type
+     * @return the result
+     * @throws IOException if the shared request failed, or the deadline passed waiting for it
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R execute(final Object key, final Deadline deadline, final RetryEngine.Call<R> call) throws IOException {
+        final Flight<R> mine = new Flight<>();
+        // A blocking caller never cancels, so the request it waits on is never cancelled either
+        mine.join();
+        final Flight<R> existing = (Flight<R>) this.inFlight.putIfAbsent(key, mine);
+        if (existing != null && existing.join()) {
+            this.coalesced.increment();
+            return this.await(existing.result, deadline);
+        }
+        if (existing != null) {
+            // Everyone waiting on it cancelled just as we arrived, take its place
+            this.inFlight.replace(key, existing, mine);
+        }
+        try {
+            final R result = call.call();
+            mine.result.complete(result);
+            return result;
+        } catch (final IOException | RuntimeException e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Runs a non blocking call, or joins an identical one that is already running. The shared
+     * request is only cancelled once every caller waiting on it has cancelled.
+     *
+     * @param key  identifies identical calls
+     * @param call sends the request
+     * @param <R>  the result type
+     * @return a future for the result
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<R> executeAsync(final Object key, final RetryEngine.AsyncCall<R> call) {
+        final Flight<R> mine = new Flight<>();
+        mine.join();
+        final Flight<R> existing = (Flight<R>) this.inFlight.putIfAbsent(key, mine);
+        if (existing != null && existing.join()) {
+            this.coalesced.increment();
+            return existing.follow();
+        }
+        if (existing != null) {
+            this.inFlight.replace(key, existing, mine);
+        }
+        final CompletableFuture<R> result = mine.follow();
+        final CompletableFuture<R> sent = call.call();
+        mine.request = sent;
+        sent.whenComplete((value, error) -> {
+            this.inFlight.remove(key, mine);
+            if (error == null) {
+                mine.result.complete(value);
+            } else {
+                mine.result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+        if (mine.result.isCancelled()) {
+            sent.cancel(true);
+        }
+        return result;
+    }
+
+    private <R> R await(final CompletableFuture<R> result, final Deadline deadline) throws IOException {
+        try {
+            if (deadline == null) {
+                return result.get();
+            }
+            return result.get(Math.max(0, deadline.remaining(TimeUnit.NANOSECONDS)), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            this.onDeadlineMiss.run();
+            throw new SlackDeadlineException("Deadline passed waiting for a shared call");
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a shared call");
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * A request in flight and how many callers are still waiting on it.
+     */
+    private static final class Flight<R> {
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+        private final AtomicInteger waiting = new AtomicInteger();
+        private volatile CompletableFuture<R> request;
+
+        /**
+         * @return false if every earlier caller has already cancelled it
+         */
+        private boolean join() {
+            int current;
+            do {
+                current = this.waiting.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!this.waiting.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        /**
+         * @return a future of the caller's own, so one caller cancelling does not fail the others
+         */
+        private CompletableFuture<R> follow() {
+            final CompletableFuture<R> own = new CompletableFuture<>();
+            this.result.whenComplete((value, error) -> {
+                if (error == null) {
+                    own.complete(value);
+                } else {
+                    own.completeExceptionally(error);
+                }
+            });
+            own.whenComplete((value, error) -> {
+                if (own.isCancelled() && this.waiting.decrementAndGet() == 0 && this.waiting.compareAndSet(0, -1)) {
+                    this.result.cancel(true);
+                    final CompletableFuture<R> sent = this.request;
+                    if (sent != null) {
+                        sent.cancel(true);
+                    }
+                }
+            });
+            return own;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Encodes request bodies as UTF-8 bytes with as little garbage as possible.
+ *
+ * <p>Bodies are written straight into a per-thread buffer that is reused from call to call; the only
+ * allocation left per request is the finished body itself. The token is encoded once, when the
+ * encoder is created.</p>
+ */
+public class RequestEncoder {
+    private static final TypeAdapter<JsonElement> JSON = new Gson().getAdapter(JsonElement.class);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    /**
+     * Buffers that grew past this for an unusually large body are not kept.
+     */
+    private static final int MAX_POOLED = 64 * 1024;
+    private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(Buffer::new);
+
+    private final byte[] tokenField;
+    private final String authorization;
+
+    public RequestEncoder(final String token) {
+        final Buffer buffer = new Buffer();
+        buffer.writeAscii("token=");
+        buffer.writeFormEncoded(token);
+        this.tokenField = buffer.toByteArray();
+        this.authorization = "Bearer " + token;
+    }
+
+    /**
+     * @return the Authorization header value for json requests
+     */
+    public String getAuthorization() {
+        return this.authorization;
+    }
+
+    /**
+     * Encodes a form body, starting with the token.
+     *
+     * @param params the form parameters, values are converted with {@link String#valueOf(Object)}
+     * @return the body
+     */
+    public byte[] encodeForm(final Map<String, Object> params) {
+        final Buffer buffer = BUFFERS.get();
+        try {
+            buffer.write(this.tokenField, 0, this.tokenField.length);
+            writeParams(buffer, params, true);
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Encodes a query string, without the token, which a GET sends in its Authorization header instead.
+     *
+     * @param params the parameters, values are converted with {@link String#valueOf(Object)}
+     * @return the query string without a leading {@code ?}, or null if there are no parameters
+     */
+    public String encodeQuery(final Map<String, Object> params) {
+        if (params.isEmpty()) {
+            return null;
+        }
+        final Buffer buffer = BUFFERS.get();
+        try {
+            writeParams(buffer, params, false);
+            return new String(buffer.bytes, 0, buffer.size, StandardCharsets.US_ASCII);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static void writeParams(final Buffer buffer, final Map<String, Object> params, final boolean separate) {
+        boolean first = !separate;
+        for (final Map.Entry<String, Object> param : params.entrySet()) {
+            if (!first) {
+                buffer.write('&');
+            }
+            first = false;
+            buffer.writeFormEncoded(param.getKey());
+            buffer.write('=');
+            final Object value = param.getValue();
+            if (value instanceof CharSequence) {
+                buffer.writeFormEncoded((CharSequence) value);
+            } else if (value instanceof Integer || value instanceof Long) {
+                buffer.writeLong(((Number) value).longValue());
+            } else {
+                buffer.writeFormEncoded(String.valueOf(value));
+            }
+        }
+    }
+
+    /**
+     * Encodes a json body. The output is the same as {@link JsonObject#toString()} but is never held as a String.
+     *
+     * @param body the json object
+     * @return the body
+     */
+    public byte[] encodeJson(final JsonObject body) {
+        final Buffer buffer = BUFFERS.get();
+        try {
+            final JsonWriter writer = new JsonWriter(buffer.writer);
+            writer.setLenient(true);
+            JSON.write(writer, body);
+            writer.flush();
+            return buffer.toByteArray();
+        } catch (final IOException e) {
+            // Writing to memory does not fail
+            throw new AssertionError(e);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * A growable byte buffer that knows how to write UTF-8 and form encoded text.
+     */
+    private static final class Buffer {
+        private byte[] bytes = new byte[1024];
+        private int size;
+        private final Writer writer = new Utf8Writer(this);
+
+        private void ensure(final int extra) {
+            if (this.size + extra > this.bytes.length) {
+                this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.size + extra));
+            }
+        }
+
+        private void write(final int b) {
+            this.ensure(1);
+            this.bytes[this.size++] = (byte) b;
+        }
+
+        private void write(final byte[] b, final int offset, final int length) {
+            this.ensure(length);
+            System.arraycopy(b, offset, this.bytes, this.size, length);
+            this.size += length;
+        }
+
+        private void writeAscii(final String text) {
+            for (int i = 0; i < text.length(); i++) {
+                this.write(text.charAt(i));
+            }
+        }
+
+        private void writeLong(final long value) {
+            if (value < 0) {
+                this.write('-');
+                if (value == Long.MIN_VALUE) {
+                    this.writeAscii("9223372036854775808");
+                    return;
+                }
+                this.writeLong(-value);
+                return;
+            }
+            if (value >= 10) {
+                this.writeLong(value / 10);
+            }
+            this.write('0' + (int) (value % 10));
+        }
+
+        /**
+         * Writes text the way {@link java.net.URLEncoder} encodes it as UTF-8.
+         */
+        private void writeFormEncoded(final CharSequence text) {
+            for (int i = 0; i < text.length(); i++) {
+                final char c = text.charAt(i);
+                if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                        || c == '.' || c == '-' || c == '*' || c == '_') {
+                    this.write(c);
+                } else if (c == ' ') {
+                    this.write('+');
+                } else {
+                    final int codePoint = codePointAt(text, i);
+                    if (Character.isSupplementaryCodePoint(codePoint)) {
+                        i++;
+                    }
+                    final int start = this.size;
+                    this.writeUtf8(codePoint);
+                    final int end = this.size;
+                    // Percent encode the bytes just written, in place from the back
+                    this.ensure((end - start) * 2);
+                    this.size = start + (end - start) * 3;
+                    for (int from = end - 1, to = this.size - 1; from >= start; from--) {
+                        final int b = this.bytes[from] & 0xff;
+                        this.bytes[to--] = HEX[b & 0x0f];
+                        this.bytes[to--] = HEX[b >> 4];
+                        this.bytes[to--] = '%';
+                    }
+                }
+            }
+        }
+
+        private static int codePointAt(final CharSequence text, final int i) {
+            final char c = text.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                return Character.toCodePoint(c, text.charAt(i + 1));
+            }
+            // A lone surrogate cannot be encoded, the JDK writes '?' in its place
+            return Character.isSurrogate(c) ? '?' : c;
+        }
+
+        private void writeUtf8(final int codePoint) {
+            if (codePoint < 0x80) {
+                this.write(codePoint);
+            } else if (codePoint < 0x800) {
+                this.ensure(2);
+                this.bytes[this.size++] = (byte) (0xc0 | (codePoint >> 6));
+                this.bytes[this.size++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (codePoint < 0x10000) {
+                this.ensure(3);
+                this.bytes[this.size++] = (byte) (0xe0 | (codePoint >> 12));
+                this.bytes[this.size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                this.bytes[this.size++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else {
+                this.ensure(4);
+                this.bytes[this.size++] = (byte) (0xf0 | (codePoint >> 18));
+                this.bytes[this.size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                this.bytes[this.size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                this.bytes[this.size++] = (byte) (0x80 | (codePoint & 0x3f));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(this.bytes, this.size);
+        }
+
+        private void release() {
+            this.size = 0;
+            if (this.bytes.length > MAX_POOLED) {
+                this.bytes = new byte[1024];
+            }
+        }
+    }
+
+    /**
+     * Encodes chars as UTF-8 straight into a {@link Buffer}, keeping a high surrogate until its pair arrives.
+     */
+    private static final class Utf8Writer extends Writer {
+        private final Buffer buffer;
+        private char pending;
+
+        private Utf8Writer(final Buffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(final int c) {
+            this.writeChar((char) c);
+        }
+
+        @Override
+        public void write(final char[] chars, final int offset, final int length) {
+            for (int i = offset; i < offset + length; i++) {
+                this.writeChar(chars[i]);
+            }
+        }
+
+        @Override
+        public void write(final String text, final int offset, final int length) {
+            for (int i = offset; i < offset + length; i++) {
+                this.writeChar(text.charAt(i));
+            }
+        }
+
+        private void writeChar(final char c) {
+            if (this.pending != 0) {
+                final char high = this.pending;
+                this.pending = 0;
+                if (Character.isLowSurrogate(c)) {
+                    this.buffer.writeUtf8(Character.toCodePoint(high, c));
+                    return;
+                }
+                this.buffer.write('?');
+            }
+            if (Character.isHighSurrogate(c)) {
+                this.pending = c;
+            } else if (c < 0x80) {
+                this.buffer.write(c);
+            } else {
+                this.buffer.writeUtf8(Character.isSurrogate(c) ? '?' : c);
+            }
+        }
+
+        @Override
+        public void flush() {
+            if (this.pending != 0) {
+                this.pending = 0;
+                this.buffer.write('?');
+            }
+        }
+
+        @Override
+        public void close() {
+            this.flush();
+        }
+    }
+}
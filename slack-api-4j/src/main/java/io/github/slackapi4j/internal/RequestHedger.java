@@ -0,0 +1,235 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.slackapi4j.HedgeOptions;
+
+/**
+ * Sends a second copy of a read call that is taking longer than usual, and takes whichever copy
+ * answers first.
+ *
+ * <p>Each method keeps the latencies of its last calls to find the point past which a call counts as
+ * slow. The connection reports them through {@link #onAnswered}, timed from when each copy was handed to
+ * the transport, so time spent waiting for the rate limiter does not count. Hedges are paid for from a shared budget that each call tops up a little, and are only sent
+ * while the rate limiter shows the method has burst to spare. The copy that loses is cancelled.</p>
+ *
+ * @see HedgeOptions
+ */
+public class RequestHedger {
+    private static final int SAMPLES = 256;
+    private static final int MIN_SAMPLES = 20;
+    /**
+     * Budget is kept in thousandths of a hedge.
+     */
+    private static final long HEDGE_COST = 1000;
+    private static final long MAX_CREDIT = 10 * HEDGE_COST;
+
+    private final HedgeOptions options;
+    private final ScheduledExecutorService scheduler;
+    private final RateLimiter limiter;
+    private final long minDelay;
+    private final long earned;
+    private final AtomicLong credit = new AtomicLong();
+    private final AtomicReferenceArray<Latencies> latencies = new AtomicReferenceArray<>(SlackConstants.values().length);
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder won = new LongAdder();
+
+    public RequestHedger(final HedgeOptions options, final ScheduledExecutorService scheduler, final RateLimiter limiter) {
+        this.options = options;
+        this.scheduler = scheduler;
+        this.limiter = limiter;
+        this.minDelay = TimeUnit.MILLISECONDS.toNanos(options.getMinDelay());
+        this.earned = (long) (options.getBudget() * HEDGE_COST);
+    }
+
+    /**
+     * @return how many hedges were sent
+     */
+    public long getHedged() {
+        return this.hedged.sum();
+    }
+
+    /**
+     * @return how many hedges answered before the call they were covering
+     */
+    public long getWon() {
+        return this.won.sum();
+    }
+
+    /**
+     * Learns how long an answered call took.
+     *
+     * @param method the method called
+     * @param nanos  how long it took from being sent to being answered
+     */
+    public void onAnswered(final SlackConstants method, final long nanos) {
+        this.latencies(method).add(nanos);
+    }
+
+    /**
+     * Runs a call, hedging it if it is slow, and waits for the first answer.
+     */
+    public <R> R execute(final SlackConstants method, final RetryEngine.AsyncCall<R> call) throws IOException {
+        final CompletableFuture<R> result = this.executeAsync(method, call);
+        try {
+            return result.get();
+        } catch (final InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + method);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Starts a call, hedging it if it is slow.
+     *
+     * @return a future for the first copy to succeed, or for the last failure if none did
+     */
+    public <R> CompletableFuture<R> executeAsync(final SlackConstants method, final RetryEngine.AsyncCall<R> call) {
+        this.credit.accumulateAndGet(this.earned, (current, add) -> Math.min(MAX_CREDIT, current + add));
+        final long delay = this.latencies(method).threshold();
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        final AtomicInteger running = new AtomicInteger(1);
+        final CompletableFuture<R> primary = this.attempt(call, result, running, false);
+        if (delay < 0 || result.isDone()) {
+            return result;
+        }
+        final ScheduledFuture<?> timer = this.scheduler.schedule(() -> {
+            if (result.isDone() || !this.limiter.isAvailable(method, 1 - this.options.getBurstShare()) || !this.spend()) {
+                return;
+            }
+            this.hedged.increment();
+            running.incrementAndGet();
+            final CompletableFuture<R> hedge = this.attempt(call, result, running, true);
+            result.whenComplete((value, error) -> hedge.cancel(true));
+        }, Math.max(delay, this.minDelay), TimeUnit.NANOSECONDS);
+        result.whenComplete((value, error) -> {
+            timer.cancel(false);
+            primary.cancel(true);
+        });
+        return result;
+    }
+
+    private <R> CompletableFuture<R> attempt(final RetryEngine.AsyncCall<R> call, final CompletableFuture<R> result,
+                                            final AtomicInteger running, final boolean hedge) {
+        final CompletableFuture<R> sent = call.call();
+        sent.whenComplete((value, error) -> {
+            if (error == null) {
+                if (result.complete(value) && hedge) {
+                    this.won.increment();
+                }
+            } else if (running.decrementAndGet() == 0) {
+                // Only fail once no copy is left that could still succeed
+                result.completeExceptionally(error);
+            }
+        });
+        return sent;
+    }
+
+    private boolean spend() {
+        while (true) {
+            final long current = this.credit.get();
+            if (current < HEDGE_COST) {
+                return false;
+            }
+            if (this.credit.compareAndSet(current, current - HEDGE_COST)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return the latency in nanoseconds past which a call to the method is hedged, or -1 if too few calls were seen
+     */
+    long getThreshold(final SlackConstants method) {
+        return this.latencies(method).threshold();
+    }
+
+    private Latencies latencies(final SlackConstants method) {
+        final Latencies latencies = this.latencies.get(method.ordinal());
+        if (latencies != null) {
+            return latencies;
+        }
+        this.latencies.compareAndSet(method.ordinal(), null, new Latencies(this.options.getPercentile()));
+        return this.latencies.get(method.ordinal());
+    }
+
+    /**
+     * The latencies of a method's last calls, guarded by its own monitor. The threshold is worked out
+     * again every sixteen calls rather than on every one.
+     */
+    private static final class Latencies {
+        private final double percentile;
+        private final long[] samples = new long[SAMPLES];
+        private int count;
+        private int next;
+        private volatile long threshold = -1;
+
+        private Latencies(final double percentile) {
+            this.percentile = percentile;
+        }
+
+        /**
+         * @return the latency in nanoseconds past which a call is slow, or -1 if too few calls were seen
+         */
+        private long threshold() {
+            return this.threshold;
+        }
+
+        private synchronized void add(final long nanos) {
+            this.samples[this.next] = nanos;
+            this.next = (this.next + 1) % SAMPLES;
+            this.count = Math.min(this.count + 1, SAMPLES);
+            if (this.count >= MIN_SAMPLES && this.next % 16 == 0) {
+                final long[] sorted = Arrays.copyOf(this.samples, this.count);
+                Arrays.sort(sorted);
+                this.threshold = sorted[Math.min(this.count - 1, (int) (this.percentile * this.count))];
+            }
+        }
+    }
+}
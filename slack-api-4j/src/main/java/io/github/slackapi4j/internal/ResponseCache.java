@@ -0,0 +1,242 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.ByteStreams;
+import io.github.slackapi4j.CacheOptions;
+import io.github.slackapi4j.transport.SlackRequest;
+import io.github.slackapi4j.transport.SlackResponse;
+import io.github.slackapi4j.transport.SlackTransport;
+
+/**
+ * Keeps answers to GETs for as long as their cache headers allow, and revalidates them once stale.
+ *
+ * <p>A connection has its own cache, so answers are never shared between tokens. Answers are kept
+ * decompressed and in full, and are keyed by method and query string. The cache is thread safe: entries
+ * live in a concurrent Guava cache and each entry is immutable, replaced whole when revalidated.</p>
+ *
+ * @see CacheOptions
+ */
+public class ResponseCache {
+    private final CacheOptions options;
+    private final Ticker ticker;
+    private final Cache<String, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+
+    public ResponseCache(final CacheOptions options, final Ticker ticker) {
+        this.options = options;
+        this.ticker = ticker;
+        this.entries = CacheBuilder.newBuilder()
+                .maximumSize(options.getMaxEntries())
+                .build();
+    }
+
+    /**
+     * @return how many calls were answered from the cache without asking Slack
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return how many stale answers Slack confirmed were still current
+     */
+    public long getRevalidated() {
+        return this.revalidated.sum();
+    }
+
+    private static String keyOf(final SlackRequest request) {
+        if (!"GET".equals(request.getHttpMethod())) {
+            return null;
+        }
+        return request.getQuery() == null ? request.getMethod().toString() : request.getMethod() + "?" + request.getQuery();
+    }
+
+    /**
+     * @return the cached answer if it is still fresh, or null if the call must be sent
+     */
+    public SlackResponse fresh(final SlackRequest request) {
+        final String key = keyOf(request);
+        final Entry entry = key == null ? null : this.entries.getIfPresent(key);
+        if (entry == null || entry.expires - this.ticker.read() <= 0) {
+            return null;
+        }
+        this.hits.increment();
+        return entry.toResponse();
+    }
+
+    /**
+     * Sends a call, conditionally if a stale answer can be revalidated, and keeps the answer if it may be.
+     */
+    public SlackResponse execute(final SlackTransport transport, final SlackRequest request) throws IOException {
+        final String key = keyOf(request);
+        if (key == null) {
+            return transport.execute(request);
+        }
+        final Entry stale = this.entries.getIfPresent(key);
+        return this.store(key, stale, transport.execute(conditional(request, stale)));
+    }
+
+    public CompletableFuture<SlackResponse> executeAsync(final SlackTransport transport, final SlackRequest request) {
+        final String key = keyOf(request);
+        if (key == null) {
+            return transport.executeAsync(request);
+        }
+        final Entry stale = this.entries.getIfPresent(key);
+        return transport.executeAsync(conditional(request, stale)).thenApply(response -> {
+            try {
+                return this.store(key, stale, response);
+            } catch (final IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private static SlackRequest conditional(final SlackRequest request, final Entry stale) {
+        if (stale == null || stale.etag == null && stale.lastModified == null) {
+            return request;
+        }
+        final SlackRequest.SlackRequestBuilder builder = request.toBuilder();
+        if (stale.etag != null) {
+            builder.header("If-None-Match", stale.etag);
+        }
+        if (stale.lastModified != null) {
+            builder.header("If-Modified-Since", stale.lastModified);
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings("try")
+    private SlackResponse store(final String key, final Entry stale, final SlackResponse response) throws IOException {
+        if (response.getStatus() == 304 && stale != null) {
+            response.close();
+            // A 304 may carry fresher cache headers, the body and validators stay as they were
+            final Entry renewed = new Entry(stale.status, stale.headers, stale.body, this.expiry(response), stale.etag, stale.lastModified);
+            this.entries.put(key, renewed);
+            this.revalidated.increment();
+            return renewed.toResponse();
+        }
+        if (response.getStatus() != 200) {
+            return response;
+        }
+        final String control = lower(response.getHeader("Cache-Control"));
+        final String etag = response.getHeader("ETag");
+        final String lastModified = response.getHeader("Last-Modified");
+        final boolean storable = !control.contains("no-store") && !"*".equals(response.getHeader("Vary"))
+                && (maxAge(control) >= 0 || etag != null || lastModified != null);
+        if (!storable) {
+            return response;
+        }
+        final byte[] body;
+        try (final SlackResponse ignored = response) {
+            body = ByteStreams.toByteArray(response.getBody());
+        }
+        // The body is kept decompressed, so its encoding and length no longer apply
+        final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(response.getHeaders());
+        headers.remove("Content-Encoding");
+        headers.remove("Content-Length");
+        final Entry entry = new Entry(200, headers, body, this.expiry(response), etag, lastModified);
+        if (body.length <= this.options.getMaxEntrySize()) {
+            this.entries.put(key, entry);
+        } else {
+            this.entries.invalidate(key);
+        }
+        return entry.toResponse();
+    }
+
+    /**
+     * @return when, on the ticker, an answer stops being fresh
+     */
+    private long expiry(final SlackResponse response) {
+        final String control = lower(response.getHeader("Cache-Control"));
+        final long maxAge = control.contains("no-cache") ? 0 : maxAge(control);
+        final long age = Math.max(0, response.getHeaderInt("Age", 0));
+        return this.ticker.read() + TimeUnit.SECONDS.toNanos(Math.max(0, maxAge - age));
+    }
+
+    private static String lower(final String header) {
+        return header == null ? "" : header.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the max-age directive in seconds, or -1 if there is none
+     */
+    private static long maxAge(final String control) {
+        for (final String directive : control.split(",")) {
+            final String trimmed = directive.trim();
+            if (trimmed.startsWith("max-age=")) {
+                try {
+                    return Long.parseLong(trimmed.substring("max-age=".length()).replace("\"", "").trim());
+                } catch (final NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A kept answer. Every caller gets a response over the same body, which is never modified.
+     */
+    private static final class Entry {
+        private final int status;
+        private final Map<String, String> headers;
+        private final byte[] body;
+        private final long expires;
+        private final String etag;
+        private final String lastModified;
+
+        private Entry(final int status, final Map<String, String> headers, final byte[] body, final long expires,
+                      final String etag, final String lastModified) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.expires = expires;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        private SlackResponse toResponse() {
+            return new SlackResponse(this.status, this.headers, new ByteArrayInputStream(this.body));
+        }
+    }
+}
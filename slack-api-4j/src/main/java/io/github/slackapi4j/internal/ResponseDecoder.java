@@ -0,0 +1,108 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Reads list responses straight off the wire into typed items.
+ *
+ * <p>The envelope ({@code ok}, {@code error}, {@code warning}, {@code response_metadata}) is read as a
+ * stream and each item of the list field is handed to its type adapter as it arrives, so a page is never
+ * held as a {@link com.google.gson.JsonElement} tree.</p>
+ */
+final class ResponseDecoder {
+    private ResponseDecoder() {
+    }
+
+    static <T> Envelope<Page<T>> readPage(final JsonReader reader, final String field, final TypeAdapter<T> adapter) throws IOException {
+        final Envelope<Page<T>> envelope = new Envelope<>();
+        final List<T> items = new ArrayList<>();
+        String cursor = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (name.equals(field) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    items.add(adapter.read(reader));
+                }
+                reader.endArray();
+            } else if ("response_metadata".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                cursor = readCursor(reader);
+            } else {
+                envelope.readField(name, reader);
+            }
+        }
+        reader.endObject();
+        envelope.value = new Page<>(items, cursor == null || cursor.isEmpty() ? null : cursor);
+        return envelope;
+    }
+
+    private static String readCursor(final JsonReader reader) throws IOException {
+        String cursor = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("next_cursor".equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                cursor = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return cursor;
+    }
+
+    /**
+     * The parts of a response every method shares, plus the decoded value.
+     */
+    static final class Envelope<V> {
+        boolean ok;
+        String error;
+        String warning;
+        V value;
+
+        private void readField(final String name, final JsonReader reader) throws IOException {
+            final JsonToken token = reader.peek();
+            if ("ok".equals(name) && token == JsonToken.BOOLEAN) {
+                this.ok = reader.nextBoolean();
+            } else if ("error".equals(name) && token == JsonToken.STRING) {
+                this.error = reader.nextString();
+            } else if ("warning".equals(name) && token == JsonToken.STRING) {
+                this.warning = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.slackapi4j.metrics.RetryStats;
+
+/**
+ * Running totals of what the retry engine has done for a connection.
+ */
+public class RetryCounters implements RetryStats {
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+
+    void recordRetry(final long waitMillis) {
+        this.retries.increment();
+        this.waited.add(waitMillis);
+    }
+
+    void recordExhausted() {
+        this.exhausted.increment();
+    }
+
+    @Override
+    public long getRetries() {
+        return this.retries.sum();
+    }
+
+    @Override
+    public long getExhausted() {
+        return this.exhausted.sum();
+    }
+
+    @Override
+    public long getWaitTime(final TimeUnit unit) {
+        return unit.convert(this.waited.sum(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "RetryStats{retries=" + this.getRetries() + ", exhausted=" + this.getExhausted()
+                + ", waitMillis=" + this.getWaitTime(TimeUnit.MILLISECONDS) + '}';
+    }
+}
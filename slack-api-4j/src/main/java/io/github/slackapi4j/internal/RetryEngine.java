@@ -0,0 +1,223 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.github.slackapi4j.Deadline;
+import io.github.slackapi4j.RetryOptions;
+import io.github.slackapi4j.exceptions.SlackDeadlineException;
+import io.github.slackapi4j.exceptions.SlackRequestLimitException;
+
+/**
+ * Retries calls that were rate limited, following {@link RetryOptions}.
+ *
+ * <p>Calls that name a channel are queued behind the previous call to that channel, so a post that
+ * is parked for a retry is never overtaken by a later post to the same channel.</p>
+ */
+public class RetryEngine {
+    private final RetryOptions options;
+    private final RetryCounters stats = new RetryCounters();
+    private final ConcurrentMap<String, CompletableFuture<Void>> channels = new ConcurrentHashMap<>();
+    private final Runnable onDeadlineMiss;
+
+    /**
+     * @param onDeadlineMiss told when a call's deadline passes while it waits for its turn
+     */
+    public RetryEngine(final RetryOptions options, final Runnable onDeadlineMiss) {
+        this.options = options;
+        this.onDeadlineMiss = onDeadlineMiss;
+    }
+
+    public RetryCounters getStats() {
+        return this.stats;
+    }
+
+    /**
+     * Runs a blocking call, sleeping between attempts.
+     *
+     * @param channel  the channel to keep in order, or null
+     * @param deadline when the call must be done by, or null
+     * @param call     sends the call once
+     * @param <T>      the result type
+     * @return the result of the first attempt that was not rate limited
+     * @throws IOException the last failure if the call could not be completed
+     */
+    public <T> T execute(final String channel, final Deadline deadline, final Call<T> call) throws IOException {
+        final CompletableFuture<Void> turn = new CompletableFuture<>();
+        final CompletableFuture<Void> previous = channel == null ? null : this.channels.put(channel, turn);
+        try {
+            if (previous != null) {
+                this.awaitTurn(previous, deadline);
+            }
+            final long started = System.nanoTime();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return call.call();
+                } catch (final SlackRequestLimitException e) {
+                    final long delay = this.nextDelay(e, attempt, started, deadline);
+                    if (delay < 0) {
+                        throw e;
+                    }
+                    sleep(delay);
+                }
+            }
+        } finally {
+            this.release(channel, turn);
+        }
+    }
+
+    /**
+     * Runs a non blocking call, scheduling later attempts rather than holding a thread.
+     *
+     * @param channel   the channel to keep in order, or null
+     * @param deadline  when the call must be done by, or null
+     * @param call      sends the call once
+     * @param scheduler runs the later attempts
+     * @param <T>       the result type
+     * @return a future for the result of the first attempt that was not rate limited
+     */
+    public <T> CompletableFuture<T> executeAsync(final String channel, final Deadline deadline, final AsyncCall<T> call,
+                                                 final ScheduledExecutorService scheduler) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final CompletableFuture<Void> turn = new CompletableFuture<>();
+        final CompletableFuture<Void> previous = channel == null ? null : this.channels.put(channel, turn);
+        result.whenComplete((value, error) -> this.release(channel, turn));
+        if (previous == null) {
+            this.attempt(call, deadline, result, scheduler, 1, System.nanoTime());
+        } else {
+            previous.whenComplete((value, error) -> this.attempt(call, deadline, result, scheduler, 1, System.nanoTime()));
+        }
+        return result;
+    }
+
+    private <T> void attempt(final AsyncCall<T> call, final Deadline deadline, final CompletableFuture<T> result,
+                             final ScheduledExecutorService scheduler, final int attempt, final long started) {
+        if (result.isDone()) {
+            // Cancelled while parked
+            return;
+        }
+        final CompletableFuture<T> sent = call.call();
+        sent.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            final long delay = cause instanceof SlackRequestLimitException
+                    ? this.nextDelay((SlackRequestLimitException) cause, attempt, started, deadline) : -1;
+            if (delay < 0) {
+                result.completeExceptionally(cause);
+            } else {
+                scheduler.schedule(() -> this.attempt(call, deadline, result, scheduler, attempt + 1, started),
+                        delay, TimeUnit.MILLISECONDS);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                sent.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Works out how long to park a limited call: until its Retry-After has passed, plus a random
+     * backoff of up to {@code baseBackoff * 2^(attempt - 1)}.
+     *
+     * @return the delay in milliseconds, or -1 if the call has to give up
+     */
+    long nextDelay(final SlackRequestLimitException e, final int attempt, final long started, final Deadline deadline) {
+        if (attempt >= this.options.getMaxAttempts()) {
+            this.stats.recordExhausted();
+            return -1;
+        }
+        final long parked = Math.max(0, e.getRetryTime() - System.currentTimeMillis());
+        final long ceiling = Math.min(this.options.getMaxBackoff(), this.options.getBaseBackoff() << Math.min(attempt - 1, 30));
+        final long delay = parked + ThreadLocalRandom.current().nextLong(ceiling + 1);
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        if (elapsed + delay > this.options.getDeadline()
+                || deadline != null && delay >= deadline.remaining(TimeUnit.MILLISECONDS)) {
+            this.stats.recordExhausted();
+            return -1;
+        }
+        this.stats.recordRetry(delay);
+        return delay;
+    }
+
+    private void release(final String channel, final CompletableFuture<Void> turn) {
+        turn.complete(null);
+        if (channel != null) {
+            this.channels.remove(channel, turn);
+        }
+    }
+
+    private void awaitTurn(final CompletableFuture<Void> previous, final Deadline deadline)
+            throws InterruptedIOException, SlackDeadlineException {
+        try {
+            if (deadline == null) {
+                previous.get();
+            } else {
+                previous.get(Math.max(0, deadline.remaining(TimeUnit.NANOSECONDS)), TimeUnit.NANOSECONDS);
+            }
+        } catch (final TimeoutException e) {
+            this.onDeadlineMiss.run();
+            throw new SlackDeadlineException("Deadline passed waiting for earlier calls to the channel");
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for earlier calls to the channel");
+        } catch (final ExecutionException e) {
+            // Only the ordering matters here, the earlier call's failure is its own caller's business
+        }
+    }
+
+    private static void sleep(final long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting to retry");
+        }
+    }
+
+    public interface Call<T> {
+        T call() throws IOException;
+    }
+
+    public interface AsyncCall<T> {
+        CompletableFuture<T> call();
+    }
+}
@@ -26,149 +26,816 @@ package io.github.slackapi4j.internal;
  * #L%
  */
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.UnsupportedEncodingException;
-import java.net.ProtocolException;
-import java.net.URL;
-import java.net.URLEncoder;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
-import javax.net.ssl.HttpsURLConnection;
-
+import io.github.slackapi4j.Deadline;
+import io.github.slackapi4j.PriorityOptions;
+import io.github.slackapi4j.RequestPriority;
 import io.github.slackapi4j.SlackAPI;
+import io.github.slackapi4j.SlackOptions;
 
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import io.github.slackapi4j.exceptions.*;
+import io.github.slackapi4j.metrics.RetryStats;
+import io.github.slackapi4j.metrics.SlackMetrics;
+import io.github.slackapi4j.metrics.WireMetrics;
+import io.github.slackapi4j.transport.RecordingTransport;
+import io.github.slackapi4j.transport.SlackRequest;
+import io.github.slackapi4j.transport.SlackResponse;
+import io.github.slackapi4j.transport.SlackTransport;
+import io.github.slackapi4j.transport.TrafficRecorder;
 
+/**
+ * Sends Web API calls for one token.
+ *
+ * <p>A connection is thread safe and is meant to be shared: the managers, the real time session and
+ * application threads all call through the same one. It holds no locks while calling. Its only mutable
+ * state lives in the collaborators, and each keeps it concurrent:</p>
+ * <ul>
+ *     <li>{@link RateLimiter} has a lock free bucket per method and per channel.</li>
+ *     <li>{@link RetryEngine} keeps per channel ordering in a concurrent map and its counts in adders.</li>
+ *     <li>{@link RequestCoalescer} tracks calls in flight in a concurrent map.</li>
+ *     <li>{@link RequestEncoder} encodes into a buffer per thread.</li>
+ *     <li>{@link RequestHedger} keeps recent latencies per method, each under its own lock.</li>
+ *     <li>{@link PriorityLane} caps the calls in flight for each {@link RequestPriority} with a semaphore.</li>
+ *     <li>{@link AdaptiveLimiter} caps the calls in flight overall, adjusting the cap under its own lock.</li>
+ *     <li>{@link WireMetrics} records into adders and atomic arrays, unless the options bring their own metrics.</li>
+ * </ul>
+ */
 @SuppressWarnings("WeakerAccess")
 public class SlackConnection
 {
-    private final String token;
-    private boolean isRateLimited;
-    private long retryEnd;
+    private final RequestEncoder encoder;
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("slack-scheduler").setDaemon(true).build());
+
+    private final SlackTransport transport;
+    private final TrafficRecorder recorder;
+    private final RateLimiter limiter;
+    private final RetryEngine retry;
+    private final RequestCoalescer coalescer;
+    private final ResponseCache cache;
+    private final PriorityOptions priorities;
+    private final Map<RequestPriority, PriorityLane> lanes;
+    private final AdaptiveLimiter adaptive;
+    private final Ticker ticker = Ticker.systemTicker();
+    private final SlackMetrics metrics;
+    private final boolean virtualThreads;
+    private final CircuitBreaker breaker;
+    private final RequestHedger hedger;
+    private final long timeout;
+    private final LongAdder deadlineMisses = new LongAdder();
+
+    /**
+     * How many items a page of a list is asked for, the most Slack recommends.
+     */
+    private static final int PAGE_LIMIT = 200;
+    private static final BodyReader<JsonElement> TREE = reader -> new JsonParser().parse(reader);
 
     public SlackConnection(final String token)
     {
-        this.token = token;
+        this(token, SlackOptions.DEFAULT);
+    }
 
-        this.isRateLimited = false;
-        this.retryEnd = 0;
+    /**
+     * @param token     the api token
+     * @param transport the transport used to reach Slack, it may be shared between connections
+     */
+    public SlackConnection(final String token, final SlackTransport transport)
+    {
+        this(token, SlackOptions.builder().transport(transport).build());
     }
 
-    private String encodeRequest(final Map<String, Object> params)
+    public SlackConnection(final String token, final SlackOptions options)
     {
-        try
-        {
-            final StringBuilder data = new StringBuilder();
-            data.append("token=");
-            data.append(URLEncoder.encode(this.token, "UTF-8"));
-            for (final Entry<String, Object> param : params.entrySet())
-            {
-                data.append('&');
-                data.append(URLEncoder.encode(param.getKey(), "UTF-8"));
-                data.append('=');
-                data.append(URLEncoder.encode(String.valueOf(param.getValue()), "UTF-8"));
-            }
-
-            return data.toString();
-        } catch (final UnsupportedEncodingException e)
-        {
-            // Should never happen
-            throw new AssertionError();
-        }
-    }
-
-    private HttpsURLConnection createConnection(final SlackConstants method, final JsonObject base) throws IOException {
-        final URL queryUrl = new URL("https", SlackConstants.HOST.toString(), "/api/" + method);
-        final HttpsURLConnection connection = (HttpsURLConnection) queryUrl.openConnection();
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
-        connection.setRequestProperty("Authorization", "Bearer " + this.token);
-        connection.setDoInput(true);
-        connection.setDoOutput(true);
-        final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8));
-        writer.write(base.toString());
-        writer.close();
-        return connection;
-    }
-
-    private HttpsURLConnection createConnection(final SlackConstants method, final Map<String, Object> params) throws IOException {
-        try
-        {
-            final URL queryUrl = new URL("https", SlackConstants.HOST.toString(), "/api/" + method);
-            final HttpsURLConnection connection = (HttpsURLConnection) queryUrl.openConnection();
-            if (method.isPost()) {
-                connection.setRequestMethod("POST");
-            } else {
-                connection.setRequestMethod("GET");
-            }
-            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-            connection.setDoInput(true);
-            connection.setDoOutput(true);
-
-            // Add request params
-            final String request = this.encodeRequest(params);
-            final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8));
-            writer.write(request);
-            writer.close();
-
-            return connection;
-        } catch (final ProtocolException e)
-        {
-            // Should not happen
-            throw new AssertionError();
+        this.encoder = new RequestEncoder(token);
+        this.recorder = options.getRecorder();
+        this.transport = this.recorder == null ? options.getTransport() : new RecordingTransport(options.getTransport(), this.recorder);
+        this.limiter = new RateLimiter(Ticker.systemTicker(), options.isRateLimited());
+        this.retry = options.getRetry() == null ? null : new RetryEngine(options.getRetry(), this.deadlineMisses::increment);
+        this.coalescer = options.isCoalesceReads() ? new RequestCoalescer(this.deadlineMisses::increment) : null;
+        this.cache = options.getCache() == null ? null : new ResponseCache(options.getCache(), this.ticker);
+        this.breaker = options.getBreaker() == null ? null : new CircuitBreaker(options.getBreaker(), this.ticker);
+        this.hedger = options.getHedge() == null ? null : new RequestHedger(options.getHedge(), SCHEDULER, this.limiter);
+        this.timeout = options.getTimeout();
+        this.virtualThreads = options.isVirtualThreads();
+        this.metrics = options.getMetrics() == null ? new WireMetrics() : options.getMetrics();
+        this.adaptive = options.getAdaptive() == null ? null : new AdaptiveLimiter(options.getAdaptive(), this.ticker);
+        this.priorities = options.getPriorities();
+        this.lanes = this.priorities == null ? null : new EnumMap<>(RequestPriority.class);
+        if (this.lanes != null) {
+            for (final RequestPriority priority : RequestPriority.values()) {
+                this.lanes.put(priority, new PriorityLane(this.priorities.getConcurrency(priority)));
+            }
+        }
+    }
+
+    private SlackRequest createRequest(final SlackConstants method, final JsonObject base) {
+        return SlackRequest.builder()
+                .method(method)
+                .contentType("application/json; charset=utf-8")
+                .header("Authorization", this.encoder.getAuthorization())
+                .body(this.encoder.encodeJson(base))
+                .priority(priorityOf(method))
+                .deadline(this.newDeadline())
+                .build();
+    }
+
+    /**
+     * Read methods are sent as GETs with their parameters in the query string, everything else is a form POST.
+     */
+    private SlackRequest createRequest(final SlackConstants method, final Map<String, Object> params) {
+        if (!method.isPost()) {
+            return SlackRequest.builder()
+                    .method(method)
+                    .httpMethod("GET")
+                    .query(this.encoder.encodeQuery(params))
+                    .header("Authorization", this.encoder.getAuthorization())
+                    .priority(priorityOf(method))
+                    .deadline(this.newDeadline())
+                    .build();
         }
+        return SlackRequest.builder()
+                .method(method)
+                .contentType("application/x-www-form-urlencoded")
+                .body(this.encoder.encodeForm(params))
+                .priority(priorityOf(method))
+                .deadline(this.newDeadline())
+                .build();
+    }
+
+    /**
+     * Calls take the priority set for the calling thread, otherwise posts are interactive and the rest normal.
+     */
+    private static RequestPriority priorityOf(final SlackConstants method) {
+        final RequestPriority current = RequestPriority.current();
+        if (current != null) {
+            return current;
+        }
+        return method.isChannelLimited() ? RequestPriority.INTERACTIVE : RequestPriority.NORMAL;
     }
 
     public JsonElement callMethod(final SlackConstants method, final JsonObject object) throws IOException {
-        if (this.isRateLimited) {
-            if (System.currentTimeMillis() < this.retryEnd) {
-                throw new SlackRequestLimitException(this.retryEnd);
+        return this.send(this.createRequest(method, object), channelOf(object), TREE);
+    }
+
+    /**
+     * Calls a method without blocking. The future fails with the same exceptions the blocking call would throw.
+     *
+     * @param method the api method
+     * @param object the json body
+     * @return a future for the raw response
+     */
+    public CompletableFuture<JsonElement> callMethodAsync(final SlackConstants method, final JsonObject object) {
+        return this.sendAsync(this.createRequest(method, object), channelOf(object), TREE);
+    }
+
+    private static String channelOf(final JsonObject object) {
+        final JsonElement channel = object.get("channel");
+        return channel == null || channel.isJsonNull() ? null : channel.getAsString();
+    }
+
+    private static String channelOf(final Map<String, Object> params) {
+        final Object channel = params.get("channel");
+        return channel == null ? null : String.valueOf(channel);
+    }
+
+    /**
+     * Sends a call, sharing the request with identical reads already in flight.
+     */
+    private <R> R send(final SlackRequest request, final String channel, final BodyReader<R> body) throws IOException {
+        if (this.coalescer != null && request.getMethod().isReadOnly()) {
+            return this.coalescer.execute(coalescingKey(request, body), request.getDeadline(), () -> this.sendRetrying(request, channel, body));
+        }
+        return this.sendRetrying(request, channel, body);
+    }
+
+    private <R> CompletableFuture<R> sendAsync(final SlackRequest request, final String channel, final BodyReader<R> body) {
+        if (this.coalescer != null && request.getMethod().isReadOnly()) {
+            return this.coalescer.executeAsync(coalescingKey(request, body), () -> this.sendRetryingAsync(request, channel, body));
+        }
+        return this.sendRetryingAsync(request, channel, body);
+    }
+
+    /**
+     * Calls are identical if they go to the same method with the same arguments and decode the answer the same way.
+     */
+    private static Object coalescingKey(final SlackRequest request, final BodyReader<?> body) {
+        final Object arguments = request.getBody() == null ? request.getQuery() : ByteBuffer.wrap(request.getBody());
+        return Arrays.asList(request.getMethod(), arguments, body);
+    }
+
+    /**
+     * Sends a call, retrying it if it is rate limited and retries are enabled.
+     */
+    private <R> R sendRetrying(final SlackRequest request, final String channel, final BodyReader<R> body) throws IOException {
+        if (this.retry == null) {
+            return this.sendHedged(request, channel, body);
+        }
+        return this.retry.execute(orderedChannel(request, channel), request.getDeadline(), () -> this.sendHedged(request, channel, body));
+    }
+
+    private <R> CompletableFuture<R> sendRetryingAsync(final SlackRequest request, final String channel, final BodyReader<R> body) {
+        if (this.retry == null) {
+            return this.sendHedgedAsync(request, channel, body);
+        }
+        return this.retry.executeAsync(orderedChannel(request, channel), request.getDeadline(),
+                () -> this.sendHedgedAsync(request, channel, body), SCHEDULER);
+    }
+
+    /**
+     * Sends a call, with a second copy if it is a slow read and hedging is enabled.
+     */
+    private <R> R sendHedged(final SlackRequest request, final String channel, final BodyReader<R> body) throws IOException {
+        if (this.hedger == null || !request.getMethod().isReadOnly()) {
+            return this.sendOnce(request, channel, body);
+        }
+        return this.hedger.execute(request.getMethod(), () -> this.sendOnceAsync(request, channel, body));
+    }
+
+    private <R> CompletableFuture<R> sendHedgedAsync(final SlackRequest request, final String channel, final BodyReader<R> body) {
+        if (this.hedger == null || !request.getMethod().isReadOnly()) {
+            return this.sendOnceAsync(request, channel, body);
+        }
+        return this.hedger.executeAsync(request.getMethod(), () -> this.sendOnceAsync(request, channel, body));
+    }
+
+    /**
+     * Only posts need to keep their order within a channel.
+     */
+    private static String orderedChannel(final SlackRequest request, final String channel) {
+        return request.getMethod().isChannelLimited() ? channel : null;
+    }
+
+    /**
+     * Waits until the rate limiter has a slot for the call and the connection has room for it, then sends it.
+     * The call is dropped if its deadline would pass while waiting.
+     */
+    private <R> R sendOnce(final SlackRequest request, final String channel, final BodyReader<R> body) throws IOException {
+        final SlackResponse cached = this.cache == null ? null : this.cache.fresh(request);
+        if (cached != null) {
+            return this.readResponse(cached, body);
+        }
+        this.checkDeadline(request, 0);
+        final CircuitBreaker.Permit circuit = this.checkCircuit(request.getMethod());
+        final long queued = this.ticker.read();
+        final Runnable release;
+        try {
+            long wait;
+            while ((wait = this.reserve(request, channel)) < 0) {
+                this.checkDeadline(request, -wait);
+                TimeUnit.NANOSECONDS.sleep(-wait);
             }
+            if (wait > 0) {
+                this.checkDeadline(request, wait);
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            release = this.hold(request);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException interrupted = new InterruptedIOException("Interrupted waiting to call " + request.getMethod());
+            this.recordOutcome(request, circuit, 0, interrupted);
+            throw interrupted;
+        } catch (final SlackDeadlineException e) {
+            this.recordOutcome(request, circuit, 0, e);
+            throw e;
+        }
+        final long start = this.ticker.read();
+        this.metrics.onQueued(request.getMethod(), start - queued);
+        try {
+            final R result = this.processConnectionResult(request, start, this.execute(request), body);
+            this.recordOutcome(request, circuit, start, null);
+            return result;
+        } catch (final IOException e) {
+            throw this.failed(request, circuit, start, e);
+        } catch (final RuntimeException e) {
+            this.recordOutcome(request, circuit, start, e);
+            throw e;
+        } finally {
+            release.run();
+        }
+    }
 
-            this.isRateLimited = false;
+    /**
+     * Takes a permit from the call's priority class and then from the adaptive limit.
+     *
+     * @return gives the permits back
+     */
+    private Runnable hold(final SlackRequest request) throws InterruptedException, SlackDeadlineException {
+        final PriorityLane lane = this.lanes == null ? null : this.lanes.get(request.getPriority());
+        if (lane != null) {
+            this.acquire(request, lane);
+        }
+        if (this.adaptive != null) {
+            try {
+                this.acquire(request, this.adaptive);
+            } catch (final InterruptedException | SlackDeadlineException e) {
+                if (lane != null) {
+                    lane.release();
+                }
+                throw e;
+            }
+        }
+        return this.releaser(lane);
+    }
+
+    private Runnable releaser(final PriorityLane lane) {
+        if (lane == null) {
+            return this.adaptive == null ? () -> { } : this.adaptive::release;
+        }
+        return this.adaptive == null ? lane::release : () -> {
+            this.adaptive.release();
+            lane.release();
+        };
+    }
+
+    private void acquire(final SlackRequest request, final Permits permits) throws InterruptedException, SlackDeadlineException {
+        if (request.getDeadline() == null) {
+            permits.acquire();
+        } else if (!permits.tryAcquire(request.getDeadline().remaining(TimeUnit.NANOSECONDS))) {
+            throw this.missed(request, "waiting for a free connection");
         }
-        final HttpsURLConnection connection = this.createConnection(method, object);
-        connection.connect();
-        return this.processConnectionResult(connection);
     }
 
-    private JsonElement processConnectionResult(final HttpsURLConnection connection) throws IOException {
-        if (connection.getResponseCode() == 429) // Too many requests
-        {
-            final int delay = connection.getHeaderFieldInt("Retry-After", 2);
-            this.isRateLimited = true;
-            this.retryEnd = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(delay);
-            throw new SlackRequestLimitException(this.retryEnd);
+    /**
+     * Drops a call whose deadline would pass before it could be sent.
+     *
+     * @param wait how long in nanoseconds the call still has to wait before it is sent
+     */
+    private void checkDeadline(final SlackRequest request, final long wait) throws SlackDeadlineException {
+        if (request.getDeadline() != null && request.getDeadline().remaining(TimeUnit.NANOSECONDS) <= wait) {
+            throw this.missed(request, wait == 0 ? "before it was sent" : "waiting for the rate limiter");
         }
-        final JsonReader reader = new JsonReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
-        final JsonParser parser = new JsonParser();
-        final JsonElement result = parser.parse(reader);
-        reader.close();
+    }
+
+    private SlackDeadlineException missed(final SlackRequest request, final String where) {
+        this.deadlineMisses.increment();
+        return new SlackDeadlineException("Deadline for " + request.getMethod() + " passed " + where);
+    }
+
+    /**
+     * Records a call that failed once sent. If its deadline has passed by then, the deadline is what it failed on.
+     *
+     * @return the exception to fail the call with
+     */
+    private IOException failed(final SlackRequest request, final CircuitBreaker.Permit circuit, final long start,
+                               final IOException e) {
+        IOException error = e;
+        if (!(e instanceof SlackDeadlineException) && request.getDeadline() != null && request.getDeadline().isExpired()) {
+            error = this.missed(request, "waiting for Slack to answer");
+            error.initCause(e);
+        }
+        this.recordOutcome(request, circuit, start, error);
+        return error;
+    }
+
+    /**
+     * Fails the call straight away if its method's circuit breaker is open.
+     */
+    private CircuitBreaker.Permit checkCircuit(final SlackConstants method) throws SlackCircuitOpenException {
+        if (this.breaker == null) {
+            return null;
+        }
+        final CircuitBreaker.Permit permit = this.breaker.tryAcquire(method);
+        if (!permit.isGranted()) {
+            throw new SlackCircuitOpenException(method, System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(permit.getWait()));
+        }
+        return permit;
+    }
+
+    /**
+     * Tells the circuit breaker, the adaptive limit and the hedger how a call went.
+     *
+     * @param circuit the call's circuit breaker permit, or null if there is no breaker
+     * @param start   when the call was sent, or 0 if it never was
+     * @param error   what the call failed with, or null if it succeeded
+     */
+    private void recordOutcome(final SlackRequest request, final CircuitBreaker.Permit circuit, final long start,
+                               final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (start != 0 && cause == null) {
+            final long latency = this.ticker.read() - start;
+            if (this.adaptive != null) {
+                this.adaptive.onAnswered(request.getMethod(), latency);
+            }
+            if (this.hedger != null && request.getMethod().isReadOnly()) {
+                this.hedger.onAnswered(request.getMethod(), latency);
+            }
+        } else if (start != 0 && this.adaptive != null && cause instanceof SlackRequestLimitException) {
+            this.adaptive.onLimited(request.getMethod());
+        }
+        if (circuit == null) {
+            return;
+        }
+        if (cause == null || cause instanceof SlackRequestLimitException) {
+            // Being rate limited says nothing about the endpoint's health
+            this.breaker.onSuccess(circuit, start);
+        } else if (cause instanceof CancellationException || cause instanceof SlackDeadlineException
+                || cause instanceof InterruptedIOException && !(cause instanceof SocketTimeoutException)) {
+            // Nor does a call given up on by its caller
+            this.breaker.onIgnored(circuit);
+        } else {
+            this.breaker.onFailure(circuit);
+        }
+    }
+
+    /**
+     * Reserves a rate limiter slot for the call's share of the burst.
+     *
+     * @return the wait before sending, or if negative the wait before asking again
+     */
+    private long reserve(final SlackRequest request, final String channel) {
+        final double share = this.priorities == null ? 1 : this.priorities.getShare(request.getPriority());
+        return this.limiter.reserve(request.getMethod(), channel, share);
+    }
+
+    /**
+     * Reserves a rate limiter slot for the call and sends it once the slot comes up, without blocking.
+     */
+    private <R> CompletableFuture<R> sendOnceAsync(final SlackRequest request, final String channel, final BodyReader<R> body) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        final CircuitBreaker.Permit circuit;
+        try {
+            final SlackResponse cached = this.cache == null ? null : this.cache.fresh(request);
+            if (cached != null) {
+                result.complete(this.readResponse(cached, body));
+                return result;
+            }
+            this.checkDeadline(request, 0);
+            circuit = this.checkCircuit(request.getMethod());
+        } catch (final IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        this.reserveAsync(request, circuit, channel, body, result, this.ticker.read());
         return result;
     }
 
+    /**
+     * @param circuit the call's circuit breaker permit, or null if there is no breaker
+     * @param queued  when the call started waiting to be sent
+     */
+    private <R> void reserveAsync(final SlackRequest request, final CircuitBreaker.Permit circuit, final String channel,
+                                  final BodyReader<R> body,
+                                  final CompletableFuture<R> result, final long queued) {
+        if (result.isDone()) {
+            // Cancelled while waiting for its turn
+            this.recordOutcome(request, circuit, 0, new CancellationException());
+            return;
+        }
+        final long wait = this.reserve(request, channel);
+        try {
+            this.checkDeadline(request, Math.abs(wait));
+        } catch (final SlackDeadlineException e) {
+            this.recordOutcome(request, circuit, 0, e);
+            result.completeExceptionally(e);
+            return;
+        }
+        if (wait < 0) {
+            SCHEDULER.schedule(() -> this.reserveAsync(request, circuit, channel, body, result, queued), -wait, TimeUnit.NANOSECONDS);
+        } else if (wait > 0) {
+            SCHEDULER.schedule(() -> this.enqueueAsync(request, circuit, body, result, queued), wait, TimeUnit.NANOSECONDS);
+        } else {
+            this.enqueueAsync(request, circuit, body, result, queued);
+        }
+    }
+
+    /**
+     * Queues the call for a permit from its priority class and then from the adaptive limit.
+     */
+    private <R> void enqueueAsync(final SlackRequest request, final CircuitBreaker.Permit circuit, final BodyReader<R> body,
+                                  final CompletableFuture<R> result, final long queued) {
+        final PriorityLane lane = this.lanes == null ? null : this.lanes.get(request.getPriority());
+        final Runnable admit = this.adaptive == null
+                ? () -> this.dispatchAsync(request, circuit, body, result, queued, this.releaser(lane))
+                : () -> this.adaptive.submit(request.getPriority(), () -> this.dispatchAsync(request, circuit, body, result, queued, this.releaser(lane)));
+        if (lane == null) {
+            admit.run();
+        } else {
+            lane.submit(admit);
+        }
+    }
+
+    /**
+     * Sends a call that holds its permits.
+     *
+     * @param queued  when the call started waiting to be sent
+     * @param release gives the permits back
+     */
+    private <R> void dispatchAsync(final SlackRequest request, final CircuitBreaker.Permit circuit, final BodyReader<R> body,
+                                   final CompletableFuture<R> result, final long queued, final Runnable release) {
+        Throwable dropped = null;
+        if (result.isDone()) {
+            // Cancelled while waiting for its slot
+            dropped = new CancellationException();
+        } else {
+            try {
+                this.checkDeadline(request, 0);
+            } catch (final SlackDeadlineException e) {
+                dropped = e;
+            }
+        }
+        if (dropped != null) {
+            release.run();
+            this.recordOutcome(request, circuit, 0, dropped);
+            result.completeExceptionally(dropped);
+            return;
+        }
+        final long start = this.ticker.read();
+        this.metrics.onQueued(request.getMethod(), start - queued);
+        final CompletableFuture<SlackResponse> sent = this.cache == null
+                ? this.transport.executeAsync(request)
+                : this.cache.executeAsync(this.transport, request);
+        sent.whenComplete((response, error) -> {
+            release.run();
+            if (error != null) {
+                final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof IOException) {
+                    result.completeExceptionally(this.failed(request, circuit, start, (IOException) cause));
+                } else {
+                    this.recordOutcome(request, circuit, start, cause);
+                    result.completeExceptionally(cause);
+                }
+                return;
+            }
+            try {
+                result.complete(this.processConnectionResult(request, start, response, body));
+                this.recordOutcome(request, circuit, start, null);
+            } catch (final IOException e) {
+                result.completeExceptionally(this.failed(request, circuit, start, e));
+            } catch (final RuntimeException e) {
+                this.recordOutcome(request, circuit, start, e);
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((element, error) -> {
+            if (result.isCancelled()) {
+                sent.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * @return how many calls failed because their deadline passed
+     */
+    public long getDeadlineMisses() {
+        return this.deadlineMisses.sum();
+    }
+
+    /**
+     * Counts a deadline that passed on work done outside the Web API calls, such as connecting to the real time api.
+     */
+    public void recordDeadlineMiss() {
+        this.deadlineMisses.increment();
+    }
+
+    /**
+     * @return the deadline a call starting now gets, from the calling thread's deadline and the connection's timeout,
+     * or null if it has neither
+     */
+    public Deadline newDeadline() {
+        final Deadline timeout = this.timeout > 0 ? Deadline.after(this.timeout, TimeUnit.MILLISECONDS) : null;
+        return Deadline.earliest(Deadline.current(), timeout);
+    }
+
+    /**
+     * @return how many read calls were answered by an identical call's request, or 0 if reads are not coalesced
+     */
+    public long getCoalescedCalls() {
+        return this.coalescer == null ? 0 : this.coalescer.getCoalesced();
+    }
+
+    /**
+     * @return how many read calls were answered from the cache without asking Slack, or 0 if answers are not cached
+     */
+    public long getCacheHits() {
+        return this.cache == null ? 0 : this.cache.getHits();
+    }
+
+    /**
+     * @return how many cached answers Slack confirmed were still current, or 0 if answers are not cached
+     */
+    public long getCacheRevalidations() {
+        return this.cache == null ? 0 : this.cache.getRevalidated();
+    }
+
+    /**
+     * @return how many slow reads were sent a second time, or 0 if hedging is not enabled
+     */
+    public long getHedgedCalls() {
+        return this.hedger == null ? 0 : this.hedger.getHedged();
+    }
+
+    /**
+     * @return how many calls the adaptive limit lets the connection have in flight, or 0 if it is not enabled
+     */
+    public int getConcurrencyLimit() {
+        return this.adaptive == null ? 0 : this.adaptive.getLimit();
+    }
+
+    /**
+     * @return the circuit breakers guarding each method, or null if they are not enabled
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return this.breaker;
+    }
+
+    /**
+     * @return what the retry engine has done so far, or null if retries are not enabled
+     */
+    public RetryStats getRetryStats() {
+        return this.retry == null ? null : this.retry.getStats();
+    }
+
+    /**
+     * Reads an answer and records it in the metrics once its body has been drained.
+     *
+     * @param start when the call was sent
+     */
+    @SuppressWarnings("try")
+    private <R> R processConnectionResult(final SlackRequest request, final long start, final SlackResponse response,
+                                          final BodyReader<R> body) throws IOException {
+        final SlackConstants method = request.getMethod();
+        try (final SlackResponse ignored = response) {
+            if (response.getStatus() == 429) // Too many requests
+            {
+                final long delay = TimeUnit.SECONDS.toMillis(response.getHeaderInt("Retry-After", 2));
+                this.metrics.onRateLimited(method, delay);
+                // Only this method is held back, calls to other methods carry on
+                this.limiter.penalize(method, delay);
+                throw new SlackRequestLimitException(System.currentTimeMillis() + delay);
+            }
+            if (response.getStatus() >= 400) {
+                throw new IOException("Server returned HTTP response code: " + response.getStatus() + " for " + method);
+            }
+            return this.readResponse(response, body);
+        } finally {
+            this.metrics.onResponse(method, response.getStatus(), this.ticker.read() - start,
+                    bytesSent(request), response.getBytesReceived());
+        }
+    }
+
+    @SuppressWarnings("try")
+    private <R> R readResponse(final SlackResponse response, final BodyReader<R> body) throws IOException {
+        try (final SlackResponse ignored = response) {
+            final JsonReader reader = new JsonReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+            reader.setLenient(true);
+            return body.read(reader);
+        }
+    }
+
+    private SlackResponse execute(final SlackRequest request) throws IOException {
+        return this.cache == null ? this.transport.execute(request) : this.cache.execute(this.transport, request);
+    }
+
+    /**
+     * @return whether background work was asked to run on virtual threads, it does on Java 21 and later and
+     * otherwise runs on pooled daemon threads
+     */
+    public boolean isVirtualThreads() {
+        return this.virtualThreads;
+    }
+
+    /**
+     * @return runs background work that may block, each task on a thread of its own, virtual if they were asked for
+     * and are supported
+     */
+    public Executor getExecutor() {
+        return Threads.executor(this.virtualThreads);
+    }
+
+    /**
+     * @return the transport calls are sent through, wrapped in a {@link RecordingTransport} if they are recorded
+     */
+    public SlackTransport getTransport() {
+        return this.transport;
+    }
+
+    /**
+     * @return where calls and real time frames are recorded, or null if they are not
+     */
+    public TrafficRecorder getRecorder() {
+        return this.recorder;
+    }
+
+    private static long bytesSent(final SlackRequest request) {
+        if (request.getBody() != null) {
+            return request.getBody().length;
+        }
+        return request.getQuery() == null ? 0 : request.getQuery().length();
+    }
+
+    /**
+     * @return what the connection has recorded about its calls, a {@link WireMetrics} unless the options set others
+     */
+    public SlackMetrics getMetrics() {
+        return this.metrics;
+    }
+
     public JsonObject callMethodHandled(final SlackConstants method, final JsonObject object) throws IOException, SlackException {
         MessageValidator.validateMessage(object, method);
-        final JsonObject base = this.callMethod(method, object).getAsJsonObject();
+        return this.checkResult(method, this.callMethod(method, object));
+    }
+
+    /**
+     * Calls a method without blocking, failing the future with a {@link SlackException} if Slack reports an error.
+     *
+     * @param method the api method
+     * @param object the json body
+     * @return a future for the successful response
+     */
+    public CompletableFuture<JsonObject> callMethodHandledAsync(final SlackConstants method, final JsonObject object) {
+        try {
+            MessageValidator.validateMessage(object, method);
+        } catch (final SlackException e) {
+            final CompletableFuture<JsonObject> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+        return this.handleAsync(method, this.callMethodAsync(method, object));
+    }
+
+    private CompletableFuture<JsonObject> handleAsync(final SlackConstants method, final CompletableFuture<JsonElement> call) {
+        return handleAsync(call, element -> this.checkResult(method, element));
+    }
+
+    private static <R, T> CompletableFuture<T> handleAsync(final CompletableFuture<R> call, final ResultChecker<R, T> checker) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        call.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            try {
+                result.complete(checker.check(value));
+            } catch (final SlackException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private JsonObject checkResult(final SlackConstants method, final JsonElement result) throws SlackException {
+        final JsonObject base = result.getAsJsonObject();
         final boolean ok = base.get("ok").getAsBoolean();
-        if (!ok)
-        {
+
+        if (!ok) {
             final String code = base.get("error").getAsString();
             throw this.validateErrorCode(code);
+        } else if (SlackAPI.isDebug() && base.has("warning")) {
+            printWarning(method, base.get("warning").getAsString());
+            return base;
         }
         return base;
     }
 
+    private <V> V checkEnvelope(final SlackConstants method, final ResponseDecoder.Envelope<V> envelope) throws SlackException {
+        if (!envelope.ok) {
+            throw this.validateErrorCode(envelope.error == null ? "unknown_error" : envelope.error);
+        } else if (SlackAPI.isDebug() && envelope.warning != null) {
+            printWarning(method, envelope.warning);
+        }
+        return envelope.value;
+    }
+
+    private static void printWarning(final SlackConstants method, final String warning) {
+        try {
+            throw new SlackMesssageInvalidException("warning", "DEBUG ENABLED : " + method + " Response contained a warning :" + warning);
+        } catch (final SlackException e) {
+            e.printStackTrace();
+        }
+    }
+
     private SlackException validateErrorCode(final String code) {
         switch (code) {
             case "not_authed":
@@ -185,41 +852,182 @@ public class SlackConnection
     }
 
     public JsonElement callMethod(final SlackConstants method, final Map<String, Object> params) throws IOException {
-        if (this.isRateLimited) {
-            if (System.currentTimeMillis() < this.retryEnd) {
-                throw new SlackRequestLimitException(this.retryEnd);
-            }
+        return this.send(this.createRequest(method, params), channelOf(params), TREE);
+    }
 
-            this.isRateLimited = false;
-        }
+    /**
+     * Calls a method without blocking. The future fails with the same exceptions the blocking call would throw.
+     *
+     * @param method the api method
+     * @param params the form parameters
+     * @return a future for the raw response
+     */
+    public CompletableFuture<JsonElement> callMethodAsync(final SlackConstants method, final Map<String, Object> params) {
+        return this.sendAsync(this.createRequest(method, params), channelOf(params), TREE);
+    }
 
-        final HttpsURLConnection connection = this.createConnection(method, params);
-        connection.connect();
-        return this.processConnectionResult(connection);
+    public JsonObject callMethodHandled(final SlackConstants method, final Map<String, Object> params) throws SlackException, IOException {
+        return this.checkResult(method, this.callMethod(method, params));
+    }
 
+    /**
+     * Calls a method without blocking, failing the future with a {@link SlackException} if Slack reports an error.
+     *
+     * @param method the api method
+     * @param params the form parameters
+     * @return a future for the successful response
+     */
+    public CompletableFuture<JsonObject> callMethodHandledAsync(final SlackConstants method, final Map<String, Object> params) {
+        return this.handleAsync(method, this.callMethodAsync(method, params));
     }
 
-    public JsonObject callMethodHandled(final SlackConstants method, final Map<String, Object> params) throws SlackException, IOException {
-        final JsonObject base = this.callMethod(method, params).getAsJsonObject();
-        final boolean ok = base.get("ok").getAsBoolean();
+    /**
+     * Calls a list method and decodes one page of its results as they stream in, without building a
+     * json tree of the whole response first.
+     *
+     * @param method  the api method
+     * @param params  the form parameters
+     * @param field   the name of the list in the response, eg {@code channels}
+     * @param adapter decodes a single item
+     * @param <T>     the item type
+     * @return the page
+     * @throws SlackException if Slack reports an error
+     * @throws IOException    if the call fails
+     */
+    public <T> Page<T> callMethodPage(final SlackConstants method, final Map<String, Object> params, final String field,
+                                      final TypeAdapter<T> adapter) throws SlackException, IOException {
+        final ResponseDecoder.Envelope<Page<T>> envelope = this.send(this.createRequest(method, params), channelOf(params),
+                new PageReader<>(field, adapter));
+        return this.checkEnvelope(method, envelope);
+    }
 
-        if (!ok) {
-            final String code = base.get("error").getAsString();
-            throw this.validateErrorCode(code);
-        } else if (SlackAPI.isDebug() && base.has("warning")) {
-            try {
-                final String warning = base.get("warning").getAsString();
-                throw new SlackMesssageInvalidException("warning", "DEBUG ENABLED : " + method + " Response contained a warning :" + warning);
-            } catch (final SlackException e) {
-                e.printStackTrace();
+    /**
+     * The non blocking form of {@link #callMethodPage}.
+     *
+     * @param method  the api method
+     * @param params  the form parameters
+     * @param field   the name of the list in the response
+     * @param adapter decodes a single item
+     * @param <T>     the item type
+     * @return a future for the page
+     */
+    public <T> CompletableFuture<Page<T>> callMethodPageAsync(final SlackConstants method, final Map<String, Object> params,
+                                                              final String field, final TypeAdapter<T> adapter) {
+        final CompletableFuture<ResponseDecoder.Envelope<Page<T>>> call = this.sendAsync(this.createRequest(method, params),
+                channelOf(params), new PageReader<>(field, adapter));
+        return handleAsync(call, envelope -> this.checkEnvelope(method, envelope));
+    }
+
+    /**
+     * Walks every page of a list method, following {@code next_cursor} and fetching the next page while the
+     * current one is read.
+     *
+     * @param method  the api method
+     * @param params  the parameters, a cursor and limit are added for each page
+     * @param field   the name of the list in the response
+     * @param adapter decodes a single item
+     * @param <T>     the item type
+     * @return an iterator over every item, failures are thrown as {@link SlackPagingException}
+     */
+    public <T> PageIterator<T> iterateMethodPages(final SlackConstants method, final Map<String, Object> params,
+                                                  final String field, final TypeAdapter<T> adapter) {
+        return new PageIterator<>(cursor -> this.callMethodPageAsync(method, pageParams(params, cursor), field, adapter));
+    }
+
+    /**
+     * Reads every page of a list method into one list without blocking.
+     *
+     * @param method  the api method
+     * @param params  the parameters, a cursor and limit are added for each page
+     * @param field   the name of the list in the response
+     * @param adapter decodes a single item
+     * @param <T>     the item type
+     * @return a future for every item
+     */
+    public <T> CompletableFuture<List<T>> callMethodListAsync(final SlackConstants method, final Map<String, Object> params,
+                                                              final String field, final TypeAdapter<T> adapter) {
+        return this.collectAsync(method, params, field, adapter, null, new ArrayList<>());
+    }
+
+    @SuppressWarnings("try")
+    private <T> CompletableFuture<List<T>> collectAsync(final SlackConstants method, final Map<String, Object> params,
+                                                        final String field, final TypeAdapter<T> adapter, final String cursor,
+                                                        final List<T> items) {
+        // Later pages are asked for from a callback thread, so they take the first page's priority with them
+        final RequestPriority priority = RequestPriority.current();
+        return this.callMethodPageAsync(method, pageParams(params, cursor), field, adapter).thenCompose(page -> {
+            items.addAll(page.getItems());
+            if (page.getNextCursor() == null) {
+                return CompletableFuture.completedFuture(items);
             }
-            return base;
+            if (priority == null) {
+                return this.collectAsync(method, params, field, adapter, page.getNextCursor(), items);
+            }
+            try (RequestPriority.Scope ignored = priority.enter()) {
+                return this.collectAsync(method, params, field, adapter, page.getNextCursor(), items);
+            }
+        });
+    }
+
+    private static Map<String, Object> pageParams(final Map<String, Object> params, final String cursor) {
+        final Map<String, Object> page = new LinkedHashMap<>(params);
+        page.putIfAbsent("limit", PAGE_LIMIT);
+        if (cursor != null) {
+            page.put("cursor", cursor);
         }
-        return base;
+        return page;
     }
 
     public JsonObject callMethodHandled(final SlackConstants method) throws SlackException, IOException
     {
         return this.callMethodHandled(method, Utilities.EMPTY_MAP);
     }
+
+    public CompletableFuture<JsonObject> callMethodHandledAsync(final SlackConstants method)
+    {
+        return this.callMethodHandledAsync(method, Utilities.EMPTY_MAP);
+    }
+
+    /**
+     * Turns a response body into a result.
+     */
+    private interface BodyReader<R> {
+        R read(JsonReader reader) throws IOException;
+    }
+
+    /**
+     * Reads one page of a list. Two readers for the same list are equal, so their calls can be coalesced.
+     */
+    private static final class PageReader<T> implements BodyReader<ResponseDecoder.Envelope<Page<T>>> {
+        private final String field;
+        private final TypeAdapter<T> adapter;
+
+        private PageReader(final String field, final TypeAdapter<T> adapter) {
+            this.field = field;
+            this.adapter = adapter;
+        }
+
+        @Override
+        public ResponseDecoder.Envelope<Page<T>> read(final JsonReader reader) throws IOException {
+            return ResponseDecoder.readPage(reader, this.field, this.adapter);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof PageReader)) {
+                return false;
+            }
+            final PageReader<?> other = (PageReader<?>) o;
+            return this.field.equals(other.field) && this.adapter == other.adapter;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.field.hashCode() * 31 + System.identityHashCode(this.adapter);
+        }
+    }
+
+    private interface ResultChecker<R, T> {
+        T check(R value) throws SlackException;
+    }
 }
@@ -30,115 +30,123 @@ import java.io.Serializable;
 
 public enum SlackConstants {
     HOST("api.slack.com"),
-    API_TEST("api.test"),
-    AUTH_TEST("auth.test"),
-    CHANNEL_ARCHIVE("channels.archive"),
-    CHANNEL_CREATE("channel.create"),
-    CHANNEL_HISTORY("CHANNEL_HISTORY"),
-    CHANNEL_INFO("channels.info"),
-    CHANNEL_INVITE("channels.invite"),
-    CHANNEL_JOIN("channels.join"),
-    CHANNEL_KICK("channels.kick"),
-    CHANNEL_LEAVE("channels.leave"),
-
-    CHANNEL_LIST("channels.list", false),
-    CHANNEL_MARK("channels.mark"),
-    CHANNEL_RENAME("channels.rename"),
-    CHANNEL_REPLIES("channel.replies"),
-    CHANNEL_SET_PURPOSE("channels.setPurpose"),
-    CHANNEL_SET_TOPIC("channels.setTopic"),
-    CHANNEL_UNARCHIVE("channels.unarchive"),
-
-    CONVERSATION_ARCHIVE("conversations.archive"),
-    CONVERSATION_CLOSE("conversations.close"),
-    CONVERSATION_OPEN("conversations.open"),
-    CONVERSATION_HISTORY("conversations.history"),
-    CONVERSATION_INFO("conversations.info"),
-    CONVERSATION_INVITE("conversations.invite"),
-    CONVERSATION_KICK("conversations.kick"),
-    CONVERSATION_LEAVE("conversations.leave"),
-    CONVERSATION_JOIN("conversations.join"),
-    CONVERSATION_LIST("conversations.list", false),
-    CONVERSATION_MARK("channels.mark"),
-    CONVERSATION_RENAME("conversations.rename"),
-    CONVERSATION_REPLIES("conversations.replies"),
-    CONVERSATION_SET_PURPOSE("conversations.setPurpose"),
-    CONVERSATION_SET_TOPIC("conversations.setTopic"),
-    CONVERSATION_UNARCHIVE("conversations.unarchive"),
-    CONVERSATION_MEMBERS("conversations.members", false),
-
-    CHAT_DELETE("chat.delete"),
-    CHAT_GETPERMALINK("chat.getPermalink"),
-    CHAT_MEMESSAGE("chat.meMessage"),
-    CHAT_POSTEMPHEMERAL("chat.postEphemeral"),
-    CHAT_POST("chat.postMessage"),
-    CHAT_UNFURL("chat.unfurl"),
-    CHAT_UPDATE("chat.update"),
-
-    EMOJI_LIST("emoji.list"),
-
-    FILE_DELETE("files.delete"),
-    FILE_INFO("files.info"),
-    FILE_LIST("files.list"),
-    FILE_UPLOAD("files.upload"),
-
-    GROUP_ARCHIVE("groups.archive"),
-    GROUP_CLOSE("groups.close"),
-    GROUP_CREATE("groups.create"),
-    GROUP_CREATE_CHILD("groups.createChild"),
-    GROUP_HISTORY("groups.history"),
-    GROUP_INVITE("groups.invite"),
-    GROUP_KICK("groups.kick"),
-    GROUP_LEAVE("groups.leave"),
-
-    GROUP_LIST("groups.list"),
-    GROUP_MARK("groups.mark"),
-    GROUP_OPEN("groups.open"),
-    GROUP_RENAME("groups.rename"),
-    GROUP_SET_PURPOSE("groups.setPurpose"),
-    GROUP_SET_TOPIC("groups.setTopic"),
-    GROUP_UNARCHIVE("groups.unarchive"),
-
-    IM_CLOSE("im.close"),
-    IM_HISTORY("im.history"),
-
-    IM_LIST("im.list"),
-    IM_MARK("im.mark"),
-    IM_OPEN("im.open"),
-
-    REACTION_ADD("reaction.add"),
-    REACTION_REMOVE("reaction.remove"),
-
-    MPIM_OPEN("mpim.open"),
-    MPIM_CLOSE("mpim.close"),
-    MPIM_MARK("mpim.mark"),
-
-    OAUTH_ACCESS("oauth.access"),
-
-    RTM_START("rtm.start"),
-
-    SEARCH_ALL("search.all"),
-    SEARCH_FILES("search.files"),
-    SEARCH_MESSAGES("search.messages"),
-
-    STARS_LIST("stars.list"),
-
-    USER_GET_PRESENCE("users.getPresence"),
-    USER_INFO("users.info"),
-    USER_LIST("users.list", false),
-    USER_SET_ACTIVE("users.setActive"),
-    USER_SET_PRESENCE("users.setPresence");
+    API_TEST("api.test", RateTier.TIER_4),
+    AUTH_TEST("auth.test", false, RateTier.TIER_4),
+    CHANNEL_ARCHIVE("channels.archive", RateTier.TIER_2),
+    CHANNEL_CREATE("channel.create", RateTier.TIER_2),
+    CHANNEL_HISTORY("CHANNEL_HISTORY", false, RateTier.TIER_3),
+    CHANNEL_INFO("channels.info", false, RateTier.TIER_3),
+    CHANNEL_INVITE("channels.invite", RateTier.TIER_3),
+    CHANNEL_JOIN("channels.join", RateTier.TIER_3),
+    CHANNEL_KICK("channels.kick", RateTier.TIER_3),
+    CHANNEL_LEAVE("channels.leave", RateTier.TIER_3),
+
+    CHANNEL_LIST("channels.list", false, RateTier.TIER_2),
+    CHANNEL_MARK("channels.mark", RateTier.TIER_3),
+    CHANNEL_RENAME("channels.rename", RateTier.TIER_2),
+    CHANNEL_REPLIES("channel.replies", false, RateTier.TIER_3),
+    CHANNEL_SET_PURPOSE("channels.setPurpose", RateTier.TIER_2),
+    CHANNEL_SET_TOPIC("channels.setTopic", RateTier.TIER_2),
+    CHANNEL_UNARCHIVE("channels.unarchive", RateTier.TIER_2),
+
+    CONVERSATION_ARCHIVE("conversations.archive", RateTier.TIER_2),
+    CONVERSATION_CLOSE("conversations.close", RateTier.TIER_2),
+    CONVERSATION_OPEN("conversations.open", RateTier.TIER_3),
+    CONVERSATION_HISTORY("conversations.history", false, RateTier.TIER_3),
+    CONVERSATION_INFO("conversations.info", false, RateTier.TIER_3),
+    CONVERSATION_INVITE("conversations.invite", RateTier.TIER_3),
+    CONVERSATION_KICK("conversations.kick", RateTier.TIER_3),
+    CONVERSATION_LEAVE("conversations.leave", RateTier.TIER_3),
+    CONVERSATION_JOIN("conversations.join", RateTier.TIER_3),
+    CONVERSATION_LIST("conversations.list", false, RateTier.TIER_2),
+    CONVERSATION_MARK("channels.mark", RateTier.TIER_3),
+    CONVERSATION_RENAME("conversations.rename", RateTier.TIER_2),
+    CONVERSATION_REPLIES("conversations.replies", false, RateTier.TIER_3),
+    CONVERSATION_SET_PURPOSE("conversations.setPurpose", RateTier.TIER_2),
+    CONVERSATION_SET_TOPIC("conversations.setTopic", RateTier.TIER_2),
+    CONVERSATION_UNARCHIVE("conversations.unarchive", RateTier.TIER_2),
+    CONVERSATION_MEMBERS("conversations.members", false, RateTier.TIER_4),
+
+    CHAT_DELETE("chat.delete", RateTier.TIER_3),
+    CHAT_GETPERMALINK("chat.getPermalink", false, RateTier.TIER_4),
+    CHAT_MEMESSAGE("chat.meMessage", RateTier.SPECIAL),
+    CHAT_POSTEMPHEMERAL("chat.postEphemeral", RateTier.SPECIAL),
+    CHAT_POST("chat.postMessage", RateTier.SPECIAL),
+    CHAT_UNFURL("chat.unfurl", RateTier.TIER_3),
+    CHAT_UPDATE("chat.update", RateTier.TIER_3),
+
+    EMOJI_LIST("emoji.list", false, RateTier.TIER_2),
+
+    FILE_DELETE("files.delete", RateTier.TIER_3),
+    FILE_INFO("files.info", false, RateTier.TIER_4),
+    FILE_LIST("files.list", false, RateTier.TIER_3),
+    FILE_UPLOAD("files.upload", RateTier.TIER_2),
+
+    GROUP_ARCHIVE("groups.archive", RateTier.TIER_2),
+    GROUP_CLOSE("groups.close", RateTier.TIER_2),
+    GROUP_CREATE("groups.create", RateTier.TIER_2),
+    GROUP_CREATE_CHILD("groups.createChild", RateTier.TIER_2),
+    GROUP_HISTORY("groups.history", false, RateTier.TIER_3),
+    GROUP_INVITE("groups.invite", RateTier.TIER_3),
+    GROUP_KICK("groups.kick", RateTier.TIER_3),
+    GROUP_LEAVE("groups.leave", RateTier.TIER_3),
+
+    GROUP_LIST("groups.list", false, RateTier.TIER_3),
+    GROUP_MARK("groups.mark", RateTier.TIER_3),
+    GROUP_OPEN("groups.open", RateTier.TIER_3),
+    GROUP_RENAME("groups.rename", RateTier.TIER_2),
+    GROUP_SET_PURPOSE("groups.setPurpose", RateTier.TIER_2),
+    GROUP_SET_TOPIC("groups.setTopic", RateTier.TIER_2),
+    GROUP_UNARCHIVE("groups.unarchive", RateTier.TIER_2),
+
+    IM_CLOSE("im.close", RateTier.TIER_2),
+    IM_HISTORY("im.history", false, RateTier.TIER_3),
+
+    IM_LIST("im.list", false, RateTier.TIER_2),
+    IM_MARK("im.mark", RateTier.TIER_3),
+    IM_OPEN("im.open", RateTier.TIER_3),
+
+    REACTION_ADD("reaction.add", RateTier.TIER_3),
+    REACTION_REMOVE("reaction.remove", RateTier.TIER_2),
+
+    MPIM_OPEN("mpim.open", RateTier.TIER_3),
+    MPIM_CLOSE("mpim.close", RateTier.TIER_2),
+    MPIM_MARK("mpim.mark", RateTier.TIER_3),
+
+    OAUTH_ACCESS("oauth.access", RateTier.TIER_4),
+
+    RTM_START("rtm.start", RateTier.TIER_1),
+
+    SEARCH_ALL("search.all", false, RateTier.TIER_2),
+    SEARCH_FILES("search.files", false, RateTier.TIER_2),
+    SEARCH_MESSAGES("search.messages", false, RateTier.TIER_2),
+
+    STARS_LIST("stars.list", false, RateTier.TIER_3),
+
+    USER_GET_PRESENCE("users.getPresence", false, RateTier.TIER_3),
+    USER_INFO("users.info", false, RateTier.TIER_4),
+    USER_LIST("users.list", false, RateTier.TIER_2),
+    USER_SET_ACTIVE("users.setActive", RateTier.TIER_2),
+    USER_SET_PRESENCE("users.setPresence", RateTier.TIER_2);
 
     private final String value;
     private boolean post = true;
+    private final RateTier tier;
 
     SlackConstants(final String value) {
         this.value = value;
+        this.tier = null;
     }
 
-    SlackConstants(final String value, final boolean post) {
+    SlackConstants(final String value, final RateTier tier) {
+        this.value = value;
+        this.tier = tier;
+    }
+
+    SlackConstants(final String value, final boolean post, final RateTier tier) {
         this.value = value;
         this.post = post;
+        this.tier = tier;
     }
 
     /**
@@ -148,6 +156,29 @@ public enum SlackConstants {
         return this.post;
     }
 
+    /**
+     * Reads have no side effects, so identical calls made at the same time can share one response.
+     *
+     * @return true if this method only reads
+     */
+    public boolean isReadOnly() {
+        return !this.post;
+    }
+
+    /**
+     * @return the rate limit tier of this method, or null if it is not an api method
+     */
+    public RateTier getTier() {
+        return this.tier;
+    }
+
+    /**
+     * @return true if calls are also rate limited per channel, as posting messages is
+     */
+    public boolean isChannelLimited() {
+        return this == CHAT_POST || this == CHAT_MEMESSAGE || this == CHAT_POSTEMPHEMERAL;
+    }
+
     /**
      * Returns the name of this enum constant, as contained in the
      * declaration.  This method may be overridden, though it typically
@@ -0,0 +1,62 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Where the library runs work that may block, such as dispatching real time events to listeners.
+ *
+ * <p>This is the Java 8 version, which only has platform threads: work runs on a shared pool of daemon
+ * threads whether or not virtual threads were asked for. The multi-release jar carries a Java 21 version
+ * under {@code META-INF/versions/21} that runs it on virtual threads when they are asked for.</p>
+ */
+final class Threads {
+    private static final ExecutorService PLATFORM = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("slack-worker-%d").setDaemon(true).build());
+
+    private Threads() {
+    }
+
+    /**
+     * @return whether this JVM can run work on virtual threads
+     */
+    static boolean isVirtualSupported() {
+        return false;
+    }
+
+    /**
+     * @param virtual whether virtual threads were asked for
+     * @return an executor that starts every task straight away, each on a thread of its own
+     */
+    static ExecutorService executor(final boolean virtual) {
+        return PLATFORM;
+    }
+}
@@ -26,9 +26,16 @@ package io.github.slackapi4j.internal;
  * #L%
  */
 
+import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import io.github.slackapi4j.exceptions.SlackException;
+import io.github.slackapi4j.exceptions.SlackPagingException;
 import io.github.slackapi4j.objects.blocks.composition.TextObject;
 import com.google.gson.*;
 
@@ -102,6 +109,47 @@ public class Utilities
         return element.getAsInt();
     }
 
+    /**
+     * Reads a paged stream into a list, throwing page failures as the checked exceptions they wrap.
+     * @param items the stream, it is not closed
+     * @return every item
+     */
+    public static <T> List<T> collect(final Stream<T> items) throws SlackException, IOException
+    {
+        try {
+            return items.collect(Collectors.toList());
+        } catch (final SlackPagingException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Hands every item of a paged stream to an action, throwing page failures as the checked exceptions they wrap.
+     * @param items the stream, it is not closed
+     * @param action called with each item on the calling thread
+     */
+    public static <T> void forEach(final Stream<T> items, final Consumer<? super T> action) throws SlackException, IOException
+    {
+        try {
+            items.forEach(action);
+        } catch (final SlackPagingException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * @return the IOException a page failed with, to be thrown, a SlackException is thrown straight away
+     */
+    private static IOException unwrap(final SlackPagingException e) throws SlackException
+    {
+        if (e.getCause() instanceof SlackException) {
+            throw (SlackException) e.getCause();
+        } else if (e.getCause() instanceof IOException) {
+            return (IOException) e.getCause();
+        }
+        throw e;
+    }
+
     /**
      * So I dont have to force type Collections.emptyMap() for parameters
      */
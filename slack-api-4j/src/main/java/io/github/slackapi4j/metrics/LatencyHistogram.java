@@ -0,0 +1,141 @@
+package io.github.slackapi4j.metrics;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts latencies into buckets that are never more than about 6% wide, so percentiles can be read
+ * from it without keeping the samples.
+ *
+ * <p>Latencies are kept in microseconds. Below 16 every value has its own bucket; above, each power
+ * of two is split into 16 buckets. Recording is one atomic increment, so it never blocks and
+ * readers see a close but not necessarily consistent view while calls are being recorded.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class LatencyHistogram
+{
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /**
+     * Latencies are capped at 2^40 microseconds, nearly two weeks.
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray((MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param nanos a latency
+     */
+    public void record(final long nanos)
+    {
+        final long micros = Math.max(0, Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), (1L << MAX_EXPONENT) - 1));
+        this.buckets.incrementAndGet(indexOf(micros));
+        this.count.increment();
+        this.max.accumulate(nanos);
+    }
+
+    /**
+     * @return how many latencies were recorded
+     */
+    public long getCount()
+    {
+        return this.count.sum();
+    }
+
+    /**
+     * @return the longest latency recorded in nanoseconds
+     */
+    public long getMax()
+    {
+        return this.max.get();
+    }
+
+    /**
+     * @param percentile between 0 and 1, such as 0.99
+     * @return the latency in nanoseconds that that share of calls did not exceed, rounded up to its bucket, or 0
+     * if nothing was recorded
+     */
+    public long getPercentile(final double percentile)
+    {
+        long total = 0;
+        for (int i = 0; i < this.buckets.length(); i++) {
+            total += this.buckets.get(i);
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile));
+        long seen = 0;
+        for (int i = 0; i < this.buckets.length(); i++) {
+            seen += this.buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(TimeUnit.MICROSECONDS.toNanos(highestOf(i)), this.getMax());
+            }
+        }
+        return 0;
+    }
+
+    public long getP50()
+    {
+        return this.getPercentile(0.5);
+    }
+
+    public long getP99()
+    {
+        return this.getPercentile(0.99);
+    }
+
+    public long getP999()
+    {
+        return this.getPercentile(0.999);
+    }
+
+    private static int indexOf(final long micros)
+    {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + (int) ((micros >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * @return the highest value that falls in a bucket
+     */
+    private static long highestOf(final int index)
+    {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        final long sub = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+}
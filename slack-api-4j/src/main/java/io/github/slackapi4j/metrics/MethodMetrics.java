@@ -0,0 +1,137 @@
+package io.github.slackapi4j.metrics;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What {@link WireMetrics} has recorded for one method.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class MethodMetrics
+{
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder retryAfter = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+
+    MethodMetrics()
+    {
+    }
+
+    void onQueued(final long nanos)
+    {
+        this.queued.add(nanos);
+    }
+
+    void onResponse(final int status, final long nanos, final long sent, final long received)
+    {
+        this.latency.record(nanos);
+        this.bytesSent.add(sent);
+        this.bytesReceived.add(received);
+        // Look first: computeIfAbsent locks even when the counter is already there
+        final LongAdder counter = this.statuses.get(status);
+        (counter != null ? counter : this.statuses.computeIfAbsent(status, s -> new LongAdder())).increment();
+    }
+
+    void onRateLimited(final long millis)
+    {
+        this.rateLimited.increment();
+        this.retryAfter.add(millis);
+    }
+
+    /**
+     * @return how long answered calls took, from sending until their answer was read
+     */
+    public LatencyHistogram getLatency()
+    {
+        return this.latency;
+    }
+
+    /**
+     * @return how many calls were answered
+     */
+    public long getCalls()
+    {
+        return this.latency.getCount();
+    }
+
+    public long getBytesSent()
+    {
+        return this.bytesSent.sum();
+    }
+
+    /**
+     * @return the bytes received as they came over the wire, before they were decompressed
+     */
+    public long getBytesReceived()
+    {
+        return this.bytesReceived.sum();
+    }
+
+    /**
+     * @return how many answers had each HTTP status
+     */
+    public Map<Integer, Long> getStatuses()
+    {
+        final Map<Integer, Long> counts = new TreeMap<>();
+        this.statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * @return how many calls Slack answered with a 429
+     */
+    public long getRateLimited()
+    {
+        return this.rateLimited.sum();
+    }
+
+    /**
+     * @return the Retry-After delays of those 429s added up, in milliseconds
+     */
+    public long getRetryAfter()
+    {
+        return this.retryAfter.sum();
+    }
+
+    /**
+     * @return the time calls spent waiting for the rate limiter and a free connection added up, in nanoseconds
+     */
+    public long getQueued()
+    {
+        return this.queued.sum();
+    }
+}
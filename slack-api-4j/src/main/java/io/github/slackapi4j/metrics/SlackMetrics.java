@@ -0,0 +1,75 @@
+package io.github.slackapi4j.metrics;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import io.github.slackapi4j.internal.SlackConstants;
+
+/**
+ * Told what a connection does on the wire, so it can be fed to whatever metrics system the application uses.
+ *
+ * <p>Methods are called on the thread that made or completed the call, often with no lock held and from
+ * many threads at once, so they must be thread safe and return quickly. Every method does nothing by
+ * default, so an implementation only overrides what it records.</p>
+ *
+ * @see WireMetrics
+ */
+@SuppressWarnings("WeakerAccess")
+public interface SlackMetrics
+{
+    /**
+     * Records nothing.
+     */
+    SlackMetrics NONE = new SlackMetrics() { };
+
+    /**
+     * A call waited for the rate limiter and a free connection before it was sent.
+     * @param method the method called
+     * @param nanos  how long it waited
+     */
+    default void onQueued(final SlackConstants method, final long nanos) {
+    }
+
+    /**
+     * Slack answered a call.
+     * @param method        the method called
+     * @param status        the HTTP status
+     * @param nanos         how long from sending the call until its answer was read
+     * @param bytesSent     the size of the request body, or for a GET of its query string
+     * @param bytesReceived the size of the response body as it came over the wire, before it was decompressed
+     */
+    default void onResponse(final SlackConstants method, final int status, final long nanos, final long bytesSent,
+                            final long bytesReceived) {
+    }
+
+    /**
+     * Slack answered a call with a 429. {@link #onResponse} is called for it as well.
+     * @param method     the method called
+     * @param retryAfter how long Slack asked to wait in milliseconds
+     */
+    default void onRateLimited(final SlackConstants method, final long retryAfter) {
+    }
+}
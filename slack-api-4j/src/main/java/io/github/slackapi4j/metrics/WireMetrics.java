@@ -0,0 +1,77 @@
+package io.github.slackapi4j.metrics;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.github.slackapi4j.internal.SlackConstants;
+
+/**
+ * The metrics a connection keeps unless it is given others: latency, traffic, status codes and rate
+ * limiting per method.
+ *
+ * <p>Everything is recorded into atomic counters and a {@link LatencyHistogram} per method, created on
+ * the method's first call, so recording takes no locks and is cheap enough to leave on.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public class WireMetrics implements SlackMetrics
+{
+    private final AtomicReferenceArray<MethodMetrics> methods = new AtomicReferenceArray<>(SlackConstants.values().length);
+
+    /**
+     * @param method a method
+     * @return what has been recorded for it so far
+     */
+    public MethodMetrics get(final SlackConstants method)
+    {
+        final MethodMetrics metrics = this.methods.get(method.ordinal());
+        if (metrics != null) {
+            return metrics;
+        }
+        this.methods.compareAndSet(method.ordinal(), null, new MethodMetrics());
+        return this.methods.get(method.ordinal());
+    }
+
+    @Override
+    public void onQueued(final SlackConstants method, final long nanos)
+    {
+        this.get(method).onQueued(nanos);
+    }
+
+    @Override
+    public void onResponse(final SlackConstants method, final int status, final long nanos, final long bytesSent,
+                           final long bytesReceived)
+    {
+        this.get(method).onResponse(status, nanos, bytesSent, bytesReceived);
+    }
+
+    @Override
+    public void onRateLimited(final SlackConstants method, final long retryAfter)
+    {
+        this.get(method).onRateLimited(retryAfter);
+    }
+}
@@ -78,6 +78,14 @@ public class Message extends IdBaseObject
      */
     @Setter
     private String thread_ts;
+    /**
+     * For a thread's parent, the timestamp of its newest reply
+     */
+    private String latest_reply;
+    /**
+     * For a thread's parent, how many replies it has
+     */
+    private int reply_count;
     /**
      * String representation of the timestamp
      */
@@ -207,6 +215,8 @@ public class Message extends IdBaseObject
 
             message.text = Utilities.getAsString(root.get("text"));
             message.thread_ts = Utilities.getAsString(root.get("thread_ts"));
+            message.latest_reply = Utilities.getAsString(root.get("latest_reply"));
+            message.reply_count = Utilities.getAsInt(root.get("reply_count"));
             message.ts = Utilities.getAsString(root.get("ts"));
             message.as_user = Utilities.getAsBoolean(root.get("as_user"),true);
             message.timestamp = Utilities.getAsTimestamp(root.get("ts"));
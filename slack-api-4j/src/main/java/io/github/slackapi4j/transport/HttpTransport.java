@@ -0,0 +1,272 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
+import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.client.util.InputStreamResponseListener;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ScheduledExecutorScheduler;
+
+/**
+ * A pooled, keep-alive HTTPS transport for the Web API.
+ *
+ * <p>Connections are reused between calls instead of opening a new socket (and TLS handshake)
+ * for every request. A transport is thread safe and may be shared by any number of
+ * {@link io.github.slackapi4j.internal.SlackConnection}s. Its threads are daemons, so an
+ * unclosed transport will not keep the JVM alive.</p>
+ */
+public class HttpTransport implements SlackTransport
+{
+    private static HttpTransport s_default;
+
+    private final TransportOptions options;
+    private final HttpClient client;
+    private volatile boolean started;
+
+    public HttpTransport()
+    {
+        this(TransportOptions.DEFAULT);
+    }
+
+    public HttpTransport(final TransportOptions options)
+    {
+        this.options = options;
+        this.client = new HttpClient(new SslContextFactory.Client());
+        final QueuedThreadPool threadPool = new QueuedThreadPool(options.getMaxThreads(), Math.min(2, options.getMaxThreads()));
+        threadPool.setName("slack-http");
+        threadPool.setDaemon(true);
+        this.client.setExecutor(threadPool);
+        this.client.setScheduler(new ScheduledExecutorScheduler("slack-http-scheduler", true));
+        this.client.setMaxConnectionsPerDestination(options.getMaxConnectionsPerHost());
+        this.client.setMaxRequestsQueuedPerDestination(options.getMaxRequestsQueuedPerHost());
+        this.client.setIdleTimeout(options.getIdleTimeout());
+        this.client.setConnectTimeout(options.getConnectTimeout());
+        this.client.setUserAgentField(new HttpField("User-Agent", "slack-api-4j"));
+    }
+
+    /**
+     * The transport used by connections that were not given one. It is created on first use.
+     *
+     * @return the shared transport
+     */
+    public static synchronized HttpTransport getDefault()
+    {
+        if (s_default == null) {
+            s_default = new HttpTransport();
+        }
+        return s_default;
+    }
+
+    public TransportOptions getOptions()
+    {
+        return this.options;
+    }
+
+    private void ensureStarted() throws IOException
+    {
+        if (this.started) {
+            return;
+        }
+        synchronized (this.client) {
+            if (this.started) {
+                return;
+            }
+            try {
+                this.client.start();
+            } catch (final Exception e) {
+                throw new IOException("Unable to start the http client", e);
+            }
+            // Starting the client installs its own gzip decoder; responses are decoded by SlackResponse instead
+            this.client.getContentDecoderFactories().clear();
+            this.started = true;
+        }
+    }
+
+    private Request newRequest(final SlackRequest request)
+    {
+        final String path = request.getQuery() == null ? request.getMethod().toString() : request.getMethod() + "?" + request.getQuery();
+        final Request out = this.client.newRequest(this.options.getBaseUri().resolve(path))
+                .method(request.getHttpMethod());
+        if (this.options.isCompressed()) {
+            out.header(HttpHeader.ACCEPT_ENCODING, SlackResponse.ACCEPT_ENCODING);
+        }
+        for (final Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            out.header(header.getKey(), header.getValue());
+        }
+        if (request.getBody() != null) {
+            out.content(new BytesContentProvider(request.getBody()), request.getContentType());
+        }
+        if (request.getDeadline() != null) {
+            // Covers connecting, sending and reading the whole response
+            final long remaining = Math.max(1, request.getDeadline().remaining(TimeUnit.MILLISECONDS));
+            out.timeout(remaining, TimeUnit.MILLISECONDS);
+            out.idleTimeout(Math.min(remaining, this.options.getIdleTimeout()), TimeUnit.MILLISECONDS);
+        }
+        return out;
+    }
+
+    /**
+     * Sends a request and waits for the response headers. The body is streamed as it arrives.
+     *
+     * @param request the request to send
+     * @return the response, which must be closed by the caller
+     * @throws IOException if the request could not be completed
+     */
+    @Override
+    public SlackResponse execute(final SlackRequest request) throws IOException
+    {
+        this.ensureStarted();
+        final Request out = this.newRequest(request);
+        final InputStreamResponseListener listener = new InputStreamResponseListener();
+        out.send(listener);
+        final Response response;
+        try {
+            // The request's deadline, or else the idle timeout on the connection, bounds how long we wait here
+            response = listener.get(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            out.abort(e);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted calling " + request.getMethod());
+        } catch (final TimeoutException e) {
+            out.abort(e);
+            throw timedOut(request, e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof TimeoutException) {
+                throw timedOut(request, e.getCause());
+            }
+            throw new IOException(e.getCause());
+        }
+        return new SlackResponse(response.getStatus(), getHeaders(response), listener.getInputStream());
+    }
+
+    /**
+     * Sends a request without blocking the calling thread. The whole body is buffered
+     * before the future completes, so no thread waits on the network while it arrives.
+     *
+     * <p>The future is completed on one of the transport's I/O threads, dependent stages
+     * that block should be run on another executor.</p>
+     *
+     * @param request the request to send
+     * @return a future for the response
+     */
+    @Override
+    public CompletableFuture<SlackResponse> executeAsync(final SlackRequest request)
+    {
+        final CompletableFuture<SlackResponse> future = new CompletableFuture<>();
+        try {
+            this.ensureStarted();
+        } catch (final IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        final Request out = this.newRequest(request);
+        out.send(new BufferingResponseListener(this.options.getMaxResponseSize())
+        {
+            @Override
+            public void onComplete(final Result result)
+            {
+                if (result.isFailed()) {
+                    final Throwable cause = result.getFailure();
+                    if (cause instanceof TimeoutException) {
+                        future.completeExceptionally(timedOut(request, cause));
+                    } else {
+                        future.completeExceptionally(cause instanceof IOException ? cause : new IOException(cause));
+                    }
+                    return;
+                }
+                final Response response = result.getResponse();
+                future.complete(new SlackResponse(response.getStatus(), getHeaders(response),
+                        new ByteArrayInputStream(this.getContent())));
+            }
+        });
+        // Cancelling the future aborts the exchange and frees its connection
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) {
+                out.abort(new IOException("Cancelled calling " + request.getMethod()));
+            }
+        });
+        return future;
+    }
+
+    private static SocketTimeoutException timedOut(final SlackRequest request, final Throwable cause)
+    {
+        final SocketTimeoutException e = new SocketTimeoutException("Timed out calling " + request.getMethod());
+        e.initCause(cause);
+        return e;
+    }
+
+    /**
+     * A header sent more than once, such as {@code Cache-Control}, has its values joined as one list.
+     */
+    private static Map<String, String> getHeaders(final Response response)
+    {
+        final HttpFields fields = response.getHeaders();
+        final Map<String, String> headers = new HashMap<>();
+        for (final String name : fields.getFieldNamesCollection()) {
+            headers.put(name, String.join(", ", fields.getValuesList(name)));
+        }
+        return headers;
+    }
+
+    @Override
+    public void close()
+    {
+        try {
+            this.client.stop();
+            this.started = false;
+        } catch (final Exception e) {
+            // Its shutting down, I dont care
+        }
+        synchronized (HttpTransport.class) {
+            if (s_default == this) {
+                s_default = null;
+            }
+        }
+    }
+}
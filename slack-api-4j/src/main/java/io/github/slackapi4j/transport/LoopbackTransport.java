@@ -0,0 +1,232 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.github.slackapi4j.internal.SlackConstants;
+
+/**
+ * An in-memory transport that answers api methods from Java handlers, with no network involved.
+ *
+ * <p>Point a {@link io.github.slackapi4j.SlackAPI} at one to run a bot against a simulated workspace,
+ * or to benchmark it end to end at full speed on one machine:</p>
+ * <pre>
+ * LoopbackTransport loopback = new LoopbackTransport()
+ *     .handle(SlackConstants.CHAT_POST, request -&gt; LoopbackTransport.ok("{\"ts\":\"1.0\"}"));
+ * SlackAPI api = new SlackAPI(token, SlackOptions.builder().transport(loopback).rateLimited(false).build());
+ * </pre>
+ *
+ * <p>Methods without a handler answer {@code unknown_method}, as Slack does.</p>
+ */
+public class LoopbackTransport implements SlackTransport
+{
+    private static final String UNKNOWN_METHOD = "{\"ok\":false,\"error\":\"unknown_method\"}";
+
+    private final Map<SlackConstants, Handler> handlers = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    /**
+     * Creates a transport that runs handlers on the calling thread, async calls included.
+     */
+    public LoopbackTransport()
+    {
+        this(null);
+    }
+
+    /**
+     * @param executor runs the handlers of async calls, so handlers that block do not hold up the caller
+     */
+    public LoopbackTransport(final Executor executor)
+    {
+        this.executor = executor;
+    }
+
+    /**
+     * Routes a method to a handler, replacing any previous one.
+     *
+     * @param method  the api method
+     * @param handler answers it
+     * @return this transport
+     */
+    public LoopbackTransport handle(final SlackConstants method, final Handler handler)
+    {
+        this.handlers.put(method, handler);
+        return this;
+    }
+
+    @Override
+    public SlackResponse execute(final SlackRequest request) throws IOException
+    {
+        final Handler handler = this.handlers.get(request.getMethod());
+        if (handler == null) {
+            return respond(200, UNKNOWN_METHOD);
+        }
+        return handler.handle(request);
+    }
+
+    @Override
+    public CompletableFuture<SlackResponse> executeAsync(final SlackRequest request)
+    {
+        if (this.executor == null) {
+            return this.complete(request);
+        }
+        final CompletableFuture<SlackResponse> future = new CompletableFuture<>();
+        this.executor.execute(() -> this.complete(request).whenComplete((response, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(response);
+            }
+        }));
+        return future;
+    }
+
+    private CompletableFuture<SlackResponse> complete(final SlackRequest request)
+    {
+        final CompletableFuture<SlackResponse> future = new CompletableFuture<>();
+        try {
+            future.complete(this.execute(request));
+        } catch (final IOException | RuntimeException e) {
+            future.completeExceptionally(e instanceof IOException ? e : new IOException(e));
+        }
+        return future;
+    }
+
+    /**
+     * @param status the http status
+     * @param json   the response body
+     * @return a response to return from a handler
+     */
+    public static SlackResponse respond(final int status, final String json)
+    {
+        return new SlackResponse(status, Collections.singletonMap("Content-Type", "application/json; charset=utf-8"),
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @param fields the fields of a successful response, as a json object without {@code ok}
+     * @return a 200 response with {@code "ok":true} added
+     */
+    public static SlackResponse ok(final String fields)
+    {
+        final JsonObject body = new JsonParser().parse(fields).getAsJsonObject();
+        body.addProperty("ok", true);
+        return respond(200, body.toString());
+    }
+
+    /**
+     * @param code the Slack error code
+     * @return a 200 response with {@code "ok":false} and the error
+     */
+    public static SlackResponse error(final String code)
+    {
+        final JsonObject body = new JsonObject();
+        body.addProperty("ok", false);
+        body.addProperty("error", code);
+        return respond(200, body.toString());
+    }
+
+    /**
+     * Decodes the arguments of a request, whether it was sent as a form, as json or as a query string.
+     * A bearer token is included as {@code token}, as Slack treats it the same as a token argument.
+     *
+     * @param request the request a handler was given
+     * @return the arguments as a json object, form and query values are strings
+     */
+    public static JsonObject arguments(final SlackRequest request)
+    {
+        JsonObject arguments = new JsonObject();
+        if (request.getBody() != null && request.getContentType() != null && request.getContentType().startsWith("application/json")) {
+            final JsonElement json = new JsonParser().parse(new InputStreamReader(
+                    new ByteArrayInputStream(request.getBody()), StandardCharsets.UTF_8));
+            if (json.isJsonObject()) {
+                arguments = json.getAsJsonObject();
+            }
+        } else if (request.getBody() != null) {
+            decodeForm(new String(request.getBody(), StandardCharsets.UTF_8), arguments);
+        }
+        if (request.getQuery() != null) {
+            decodeForm(request.getQuery(), arguments);
+        }
+        final String authorization = request.getHeaders().get("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ") && !arguments.has("token")) {
+            arguments.addProperty("token", authorization.substring("Bearer ".length()));
+        }
+        return arguments;
+    }
+
+    private static void decodeForm(final String form, final JsonObject arguments)
+    {
+        try {
+            for (final String pair : form.split("&")) {
+                if (pair.isEmpty()) {
+                    continue;
+                }
+                final int split = pair.indexOf('=');
+                final String name = URLDecoder.decode(split < 0 ? pair : pair.substring(0, split), "UTF-8");
+                final String value = split < 0 ? "" : URLDecoder.decode(pair.substring(split + 1), "UTF-8");
+                arguments.addProperty(name, value);
+            }
+        } catch (final UnsupportedEncodingException e) {
+            // Should never happen
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        // Nothing to release
+    }
+
+    /**
+     * Answers one api method.
+     */
+    public interface Handler
+    {
+        /**
+         * @param request the request, see {@link #arguments(SlackRequest)} for its arguments
+         * @return the response
+         * @throws IOException to fail the call as a network error would
+         */
+        SlackResponse handle(SlackRequest request) throws IOException;
+    }
+}
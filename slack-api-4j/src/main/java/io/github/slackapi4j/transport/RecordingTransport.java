@@ -0,0 +1,101 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * Sends requests through another transport and writes each one and its answer to a {@link TrafficRecorder}.
+ *
+ * <p>Answers are read in full before they are handed on, so the caller gets them already decompressed and
+ * the recorded latency covers the whole body. Calls that fail without an answer are not recorded, and a
+ * recorder that fails stops recording without failing the calls.</p>
+ */
+public class RecordingTransport implements SlackTransport
+{
+    private final SlackTransport delegate;
+    private final TrafficRecorder recorder;
+
+    /**
+     * @param delegate the transport that reaches Slack, it is not closed with this one
+     * @param recorder where the exchanges are written
+     */
+    public RecordingTransport(final SlackTransport delegate, final TrafficRecorder recorder)
+    {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public SlackResponse execute(final SlackRequest request) throws IOException
+    {
+        final long start = this.recorder.now();
+        return this.record(request, start, this.delegate.execute(request));
+    }
+
+    @Override
+    public CompletableFuture<SlackResponse> executeAsync(final SlackRequest request)
+    {
+        final long start = this.recorder.now();
+        return this.delegate.executeAsync(request).thenApply(response -> {
+            try {
+                return this.record(request, start, response);
+            } catch (final IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    @SuppressWarnings("try")
+    private SlackResponse record(final SlackRequest request, final long start, final SlackResponse response) throws IOException
+    {
+        final byte[] body;
+        try (final SlackResponse ignored = response) {
+            body = ByteStreams.toByteArray(response.getBody());
+        }
+        // The body is kept decompressed, so its encoding and length no longer apply
+        final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(response.getHeaders());
+        headers.remove("Content-Encoding");
+        headers.remove("Content-Length");
+        this.recorder.recordExchange(request, start, response.getStatus(), headers, body);
+        return new SlackResponse(response.getStatus(), headers, new ByteArrayInputStream(body));
+    }
+
+    @Override
+    public void close()
+    {
+        // The delegate and the recorder belong to whoever created them
+    }
+}
@@ -0,0 +1,218 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.slackapi4j.internal.SlackConstants;
+
+/**
+ * Answers requests from a recorded {@link TrafficLog}, with no network involved.
+ *
+ * <p>Each method is answered with its recorded answers in the order they were recorded, starting over
+ * once they run out, so a short log can drive a long benchmark. Methods the log has no answer for answer
+ * {@code unknown_method}, as Slack does. Answers arrive after the recorded latency divided by the speed:</p>
+ * <pre>
+ * ReplayTransport replay = new ReplayTransport(TrafficLog.read(path), ReplayTransport.AS_FAST_AS_POSSIBLE);
+ * SlackAPI api = new SlackAPI(token, SlackOptions.builder().transport(replay).rateLimited(false).build());
+ * RealTimeSession session = api.startRTSession();
+ * session.addListener(bot);
+ * session.replay().get();
+ * </pre>
+ *
+ * <p>A real time session started through a replay does not connect; {@link io.github.slackapi4j.RealTimeSession#replay()}
+ * delivers the recorded frames to it at the same speed instead.</p>
+ */
+public class ReplayTransport implements SlackTransport
+{
+    /**
+     * Replays without waiting at all.
+     */
+    public static final double AS_FAST_AS_POSSIBLE = Double.POSITIVE_INFINITY;
+    private static final String UNKNOWN_METHOD = "{\"ok\":false,\"error\":\"unknown_method\"}";
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("slack-replay").setDaemon(true).build());
+
+    private final double speed;
+    private final Map<SlackConstants, List<TrafficLog.Exchange>> exchanges = new EnumMap<>(SlackConstants.class);
+    private final Map<SlackConstants, AtomicInteger> next = new EnumMap<>(SlackConstants.class);
+    private final List<TrafficLog.Frame> frames;
+
+    /**
+     * Replays at the speed the log was recorded at.
+     *
+     * @param log what to answer with
+     */
+    public ReplayTransport(final TrafficLog log)
+    {
+        this(log, 1);
+    }
+
+    /**
+     * @param log   what to answer with
+     * @param speed how many times faster than recorded to replay, or {@link #AS_FAST_AS_POSSIBLE}
+     */
+    public ReplayTransport(final TrafficLog log, final double speed)
+    {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Speed must be above 0: " + speed);
+        }
+        this.speed = speed;
+        for (final TrafficLog.Exchange exchange : log.getExchanges()) {
+            this.exchanges.computeIfAbsent(exchange.getMethod(), m -> new ArrayList<>()).add(exchange);
+        }
+        for (final SlackConstants method : this.exchanges.keySet()) {
+            this.next.put(method, new AtomicInteger());
+        }
+        this.frames = log.getFrames();
+    }
+
+    /**
+     * @return the next recorded answer for the request's method, or null if there is none
+     */
+    private TrafficLog.Exchange nextFor(final SlackRequest request)
+    {
+        final List<TrafficLog.Exchange> recorded = this.exchanges.get(request.getMethod());
+        if (recorded == null) {
+            return null;
+        }
+        return recorded.get(Math.floorMod(this.next.get(request.getMethod()).getAndIncrement(), recorded.size()));
+    }
+
+    /**
+     * @return a recorded time in nanoseconds scaled to the replay speed
+     */
+    private long scaled(final long nanos)
+    {
+        return (long) (nanos / this.speed);
+    }
+
+    private static SlackResponse toResponse(final TrafficLog.Exchange exchange)
+    {
+        if (exchange == null) {
+            return LoopbackTransport.respond(200, UNKNOWN_METHOD);
+        }
+        return new SlackResponse(exchange.getStatus(), exchange.getHeaders(), new ByteArrayInputStream(exchange.getResponse()));
+    }
+
+    @Override
+    public SlackResponse execute(final SlackRequest request) throws IOException
+    {
+        final TrafficLog.Exchange exchange = this.nextFor(request);
+        final long delay = exchange == null ? 0 : this.scaled(exchange.getLatency());
+        if (delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted replaying " + request.getMethod());
+            }
+        }
+        return toResponse(exchange);
+    }
+
+    @Override
+    public CompletableFuture<SlackResponse> executeAsync(final SlackRequest request)
+    {
+        final TrafficLog.Exchange exchange = this.nextFor(request);
+        final long delay = exchange == null ? 0 : this.scaled(exchange.getLatency());
+        if (delay <= 0) {
+            return CompletableFuture.completedFuture(toResponse(exchange));
+        }
+        final CompletableFuture<SlackResponse> future = new CompletableFuture<>();
+        SCHEDULER.schedule(() -> future.complete(toResponse(exchange)), delay, TimeUnit.NANOSECONDS);
+        return future;
+    }
+
+    /**
+     * Delivers the recorded real time frames in order, spaced as they were recorded. Frames are delivered
+     * one at a time on a replay thread, so the consumer runs as it would on a web socket's thread.
+     *
+     * @param consumer receives each frame's text
+     * @return a future completed once every frame has been delivered, cancel it to stop the replay
+     */
+    public CompletableFuture<Void> replayFrames(final Consumer<String> consumer)
+    {
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        if (this.frames.isEmpty()) {
+            done.complete(null);
+            return done;
+        }
+        final long first = this.frames.get(0).getOffset();
+        SCHEDULER.execute(() -> this.deliver(consumer, done, 0, first, System.nanoTime()));
+        return done;
+    }
+
+    /**
+     * Delivers every frame that is due, then schedules itself for the next one.
+     *
+     * @param index   the next frame to deliver
+     * @param first   the offset of the first frame
+     * @param started when the replay started
+     */
+    private void deliver(final Consumer<String> consumer, final CompletableFuture<Void> done, final int index,
+                         final long first, final long started)
+    {
+        int i = index;
+        while (i < this.frames.size() && !done.isDone()) {
+            final TrafficLog.Frame frame = this.frames.get(i);
+            final long wait = started + this.scaled(frame.getOffset() - first) - System.nanoTime();
+            if (wait > 0) {
+                final int from = i;
+                SCHEDULER.schedule(() -> this.deliver(consumer, done, from, first, started), wait, TimeUnit.NANOSECONDS);
+                return;
+            }
+            try {
+                consumer.accept(frame.getText());
+            } catch (final RuntimeException e) {
+                done.completeExceptionally(e);
+                return;
+            }
+            i++;
+        }
+        done.complete(null);
+    }
+
+    @Override
+    public void close()
+    {
+        // Nothing to release
+    }
+}
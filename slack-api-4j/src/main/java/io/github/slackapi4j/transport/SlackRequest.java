@@ -0,0 +1,80 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Map;
+
+import io.github.slackapi4j.Deadline;
+import io.github.slackapi4j.RequestPriority;
+import io.github.slackapi4j.internal.SlackConstants;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+/**
+ * A single Web API request as handed to a transport.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class SlackRequest
+{
+    /**
+     * The api method being called.
+     */
+    private final SlackConstants method;
+    /**
+     * The HTTP verb - POST unless stated otherwise.
+     */
+    @Builder.Default
+    private final String httpMethod = "POST";
+    /**
+     * The encoded query string without a leading {@code ?}, or null if there is none.
+     */
+    private final String query;
+    /**
+     * The content type of {@link #body}, may be null if there is no body.
+     */
+    private final String contentType;
+    /**
+     * The encoded request body, may be null.
+     */
+    private final byte[] body;
+    /**
+     * Additional request headers such as Authorization.
+     */
+    @Singular
+    private final Map<String, String> headers;
+    /**
+     * How urgently the call should be sent.
+     */
+    @Builder.Default
+    private final RequestPriority priority = RequestPriority.NORMAL;
+    /**
+     * When the call must have been answered by, or null if it may take as long as the transport allows.
+     */
+    private final Deadline deadline;
+}
@@ -0,0 +1,180 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
+import lombok.Getter;
+
+/**
+ * The status, headers and body of a Web API response. The body is a stream
+ * and must be closed once read so the underlying connection can be reused.
+ *
+ * <p>A gzip or deflate encoded body is decompressed as it is read.</p>
+ */
+@Getter
+public class SlackResponse implements Closeable
+{
+    /**
+     * The encodings {@link #getBody()} can decode, as sent in {@code Accept-Encoding}.
+     */
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final int status;
+    private final Map<String, String> headers;
+    private final CountingInputStream body;
+    private InputStream decoded;
+
+    public SlackResponse(final int status, final Map<String, String> headers, final InputStream body)
+    {
+        this.status = status;
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.headers.putAll(headers);
+        this.body = new CountingInputStream(body);
+    }
+
+    /**
+     * @return how much of the body has been read so far as it came over the wire, all of it once closed
+     */
+    public long getBytesReceived()
+    {
+        return this.body.getCount();
+    }
+
+    /**
+     * @param name the header name, case insensitive
+     * @return the header value or null if not present
+     */
+    public String getHeader(final String name)
+    {
+        return this.headers.get(name);
+    }
+
+    /**
+     * @param name the header name, case insensitive
+     * @param def  the value to use if missing or not a number
+     * @return the header as an int
+     */
+    public int getHeaderInt(final String name, final int def)
+    {
+        final String value = this.getHeader(name);
+        if (value == null) {
+            return def;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (final NumberFormatException e) {
+            return def;
+        }
+    }
+
+    /**
+     * @return the body, decompressed according to its {@code Content-Encoding}
+     * @throws IOException if the encoding is not supported or the body is not valid for it
+     */
+    public InputStream getBody() throws IOException
+    {
+        if (this.decoded == null) {
+            this.decoded = decode(this.getHeader("Content-Encoding"), this.body);
+        }
+        return this.decoded;
+    }
+
+    private static InputStream decode(final String encoding, final InputStream body) throws IOException
+    {
+        if (encoding == null || encoding.trim().isEmpty() || "identity".equalsIgnoreCase(encoding.trim())) {
+            return body;
+        }
+        switch (encoding.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(body, BUFFER_SIZE);
+            case "deflate":
+                // Servers disagree on whether deflate means a zlib stream or raw deflate data
+                final PushbackInputStream in = new PushbackInputStream(body, 2);
+                final byte[] header = new byte[2];
+                final int read = ByteStreams.read(in, header, 0, 2);
+                in.unread(header, 0, read);
+                final Inflater inflater = new Inflater(read == 2 && !isZlibHeader(header));
+                return new InflaterInputStream(in, inflater, BUFFER_SIZE)
+                {
+                    @Override
+                    public void close() throws IOException
+                    {
+                        try {
+                            super.close();
+                        } finally {
+                            inflater.end();
+                        }
+                    }
+                };
+            default:
+                throw new IOException("Unsupported Content-Encoding: " + encoding);
+        }
+    }
+
+    /**
+     * A zlib stream starts with a compression method of 8 and a header checksum that is a multiple of 31.
+     */
+    private static boolean isZlibHeader(final byte[] header)
+    {
+        final int cmf = header[0] & 0xff;
+        final int flg = header[1] & 0xff;
+        return (cmf & 0x0f) == 8 && ((cmf << 8) | flg) % 31 == 0;
+    }
+
+    /**
+     * Drains whatever is left of the body, so the connection can return to the pool, and closes it.
+     * Anything still compressed is skipped rather than decompressed.
+     *
+     * @throws IOException if the body could not be read
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try {
+            ByteStreams.exhaust(this.body);
+        } finally {
+            if (this.decoded != null) {
+                this.decoded.close();
+            }
+            this.body.close();
+        }
+    }
+}
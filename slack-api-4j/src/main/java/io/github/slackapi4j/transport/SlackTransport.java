@@ -0,0 +1,59 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries Web API requests to Slack, or to anything that answers like it.
+ *
+ * <p>{@link HttpTransport} talks to the real api over pooled HTTPS connections. {@link LoopbackTransport}
+ * answers in memory from Java handlers, for tests and for load testing bots without a network.
+ * {@link RecordingTransport} records real traffic that {@link ReplayTransport} later answers from offline.
+ * Implementations must be thread safe, as one transport may be shared by many connections.</p>
+ */
+public interface SlackTransport extends Closeable
+{
+    /**
+     * Sends a request and waits for the response.
+     *
+     * @param request the request to send
+     * @return the response, which must be closed by the caller
+     * @throws IOException if the request could not be completed
+     */
+    SlackResponse execute(SlackRequest request) throws IOException;
+
+    /**
+     * Sends a request without blocking the calling thread.
+     *
+     * @param request the request to send
+     * @return a future for the response, failed with an {@link IOException} if the request could not be completed
+     */
+    CompletableFuture<SlackResponse> executeAsync(SlackRequest request);
+}
@@ -0,0 +1,204 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import io.github.slackapi4j.internal.SlackConstants;
+import lombok.Getter;
+
+/**
+ * Web API exchanges and real time frames written by a {@link TrafficRecorder}, read back for a {@link ReplayTransport}.
+ *
+ * <p>On disk a log is a gzip stream of length prefixed binary entries, in the order they happened. Each entry
+ * carries the nanoseconds since recording started, so a replay can keep the original pacing.</p>
+ */
+@Getter
+public final class TrafficLog
+{
+    static final int MAGIC = 0x534c4b54; // SLKT
+    static final int VERSION = 2;
+    static final int EXCHANGE = 1;
+    static final int FRAME = 2;
+
+    private final List<Exchange> exchanges;
+    private final List<Frame> frames;
+
+    private TrafficLog(final List<Exchange> exchanges, final List<Frame> frames)
+    {
+        this.exchanges = Collections.unmodifiableList(exchanges);
+        this.frames = Collections.unmodifiableList(frames);
+    }
+
+    /**
+     * Reads a whole log into memory.
+     *
+     * @param path a file written by a {@link TrafficRecorder}
+     * @return its entries
+     * @throws IOException if it could not be read or is not a traffic log
+     */
+    public static TrafficLog read(final Path path) throws IOException
+    {
+        try (final InputStream in = Files.newInputStream(path)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * @param in a log as written by a {@link TrafficRecorder}, it is not closed
+     * @return its entries
+     * @throws IOException if it could not be read or is not a traffic log
+     */
+    public static TrafficLog read(final InputStream in) throws IOException
+    {
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in)));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a traffic log");
+        }
+        final int version = data.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported traffic log version " + version);
+        }
+        final List<Exchange> exchanges = new ArrayList<>();
+        final List<Frame> frames = new ArrayList<>();
+        while (true) {
+            final int type = data.read();
+            if (type < 0) {
+                break;
+            }
+            try {
+                final long offset = data.readLong();
+                if (type == EXCHANGE) {
+                    exchanges.add(readExchange(data, version, offset));
+                } else if (type == FRAME) {
+                    frames.add(new Frame(offset, new String(readBytes(data), StandardCharsets.UTF_8)));
+                } else {
+                    throw new IOException("Unknown traffic log entry " + type);
+                }
+            } catch (final EOFException e) {
+                // The recorder was not closed, keep what was written in full
+                break;
+            }
+        }
+        return new TrafficLog(exchanges, frames);
+    }
+
+    private static Exchange readExchange(final DataInputStream data, final int version, final long offset) throws IOException
+    {
+        final String method = data.readUTF();
+        final long latency = data.readLong();
+        final int status = data.readUnsignedShort();
+        final int count = data.readUnsignedShort();
+        final Map<String, String> headers = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            final String name = data.readUTF();
+            // Version 1 wrote values with writeUTF, which cannot hold more than 64 KB
+            headers.put(name, version == 1 ? data.readUTF() : new String(readBytes(data), StandardCharsets.UTF_8));
+        }
+        final byte[] request = readBytes(data);
+        final byte[] response = readBytes(data);
+        return new Exchange(SlackConstants.valueOf(method), offset, latency, status, headers, request, response);
+    }
+
+    private static byte[] readBytes(final DataInputStream data) throws IOException
+    {
+        final byte[] bytes = new byte[data.readInt()];
+        data.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * A Web API call and Slack's answer.
+     */
+    @Getter
+    public static final class Exchange
+    {
+        private final SlackConstants method;
+        /**
+         * When the call was sent, in nanoseconds since recording started.
+         */
+        private final long offset;
+        /**
+         * How long Slack took to answer in nanoseconds.
+         */
+        private final long latency;
+        private final int status;
+        private final Map<String, String> headers;
+        /**
+         * The request body with the token left out, or for a GET its query string.
+         */
+        private final byte[] request;
+        /**
+         * The response body, decompressed.
+         */
+        private final byte[] response;
+
+        Exchange(final SlackConstants method, final long offset, final long latency, final int status,
+                 final Map<String, String> headers, final byte[] request, final byte[] response)
+        {
+            this.method = method;
+            this.offset = offset;
+            this.latency = latency;
+            this.status = status;
+            this.headers = Collections.unmodifiableMap(headers);
+            this.request = request;
+            this.response = response;
+        }
+    }
+
+    /**
+     * A text frame received by a {@link io.github.slackapi4j.RealTimeSession}.
+     */
+    @Getter
+    public static final class Frame
+    {
+        /**
+         * When the frame arrived, in nanoseconds since recording started.
+         */
+        private final long offset;
+        private final String text;
+
+        Frame(final long offset, final String text)
+        {
+            this.offset = offset;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.base.Ticker;
+import io.github.slackapi4j.internal.SlackConstants;
+
+/**
+ * Writes Web API exchanges and real time frames to a {@link TrafficLog}.
+ *
+ * <p>Set one in {@link io.github.slackapi4j.SlackOptions} to record everything an api instance sends and
+ * receives, or wrap a transport in a {@link RecordingTransport}. Request headers are not kept and the token
+ * is cut from request bodies, so a log can be shared without the credentials it was recorded with. Writes
+ * are serialized, so one recorder may be shared by several connections. If a write fails the recording
+ * stops and the failure is logged, the calls being recorded carry on.</p>
+ */
+public class TrafficRecorder implements Closeable
+{
+    private static final Logger LOGGER = Logger.getLogger(TrafficRecorder.class.getName());
+    private static final byte[] TOKEN = "token=".getBytes(StandardCharsets.US_ASCII);
+
+    private final DataOutputStream out;
+    private final Ticker ticker;
+    private final long started;
+    // Guarded by out
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * @param out where the log is written, it is closed with the recorder
+     * @throws IOException if the log could not be started
+     */
+    public TrafficRecorder(final OutputStream out) throws IOException
+    {
+        this(out, Ticker.systemTicker());
+    }
+
+    TrafficRecorder(final OutputStream out, final Ticker ticker) throws IOException
+    {
+        this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(out)));
+        this.ticker = ticker;
+        this.started = ticker.read();
+        this.out.writeInt(TrafficLog.MAGIC);
+        this.out.writeByte(TrafficLog.VERSION);
+    }
+
+    /**
+     * @param path the file to write the log to, replacing anything already there
+     * @return a recorder writing to it
+     * @throws IOException if the file could not be created
+     */
+    public static TrafficRecorder open(final Path path) throws IOException
+    {
+        return new TrafficRecorder(Files.newOutputStream(path));
+    }
+
+    /**
+     * @return the time to pass as the start of an exchange
+     */
+    long now()
+    {
+        return this.ticker.read();
+    }
+
+    /**
+     * Records a call and its answer.
+     *
+     * @param start    when the call was sent, from {@link #now()}
+     * @param headers  the response headers
+     * @param response the decompressed response body
+     */
+    void recordExchange(final SlackRequest request, final long start, final int status, final Map<String, String> headers,
+                        final byte[] response)
+    {
+        final long latency = this.ticker.read() - start;
+        this.write(() -> {
+            this.out.writeByte(TrafficLog.EXCHANGE);
+            this.out.writeLong(start - this.started);
+            this.out.writeUTF(request.getMethod().name());
+            this.out.writeLong(latency);
+            this.out.writeShort(status);
+            this.out.writeShort(headers.size());
+            for (final Map.Entry<String, String> header : headers.entrySet()) {
+                this.out.writeUTF(header.getKey());
+                // Values have no length limit, unlike writeUTF's 64 KB
+                final byte[] value = header.getValue().getBytes(StandardCharsets.UTF_8);
+                this.out.writeInt(value.length);
+                this.out.write(value);
+            }
+            if (request.getBody() == null && request.getQuery() != null) {
+                // A GET carries its arguments in the query string and its token in a header that is not kept
+                writeRequest(this.out, request.getQuery().getBytes(StandardCharsets.US_ASCII));
+            } else {
+                writeRequest(this.out, request.getBody());
+            }
+            this.out.writeInt(response.length);
+            this.out.write(response);
+        });
+    }
+
+    /**
+     * Records a text frame received by a real time session.
+     *
+     * @param text the frame
+     */
+    public void recordFrame(final String text)
+    {
+        final long offset = this.ticker.read() - this.started;
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        this.write(() -> {
+            this.out.writeByte(TrafficLog.FRAME);
+            this.out.writeLong(offset);
+            this.out.writeInt(bytes.length);
+            this.out.write(bytes);
+        });
+    }
+
+    /**
+     * @return what stopped the recording, or null if every entry so far was written
+     */
+    public IOException getFailure()
+    {
+        synchronized (this.out) {
+            return this.failure;
+        }
+    }
+
+    /**
+     * Writes an entry, unless the recorder is closed or has already failed. A failure is logged once and
+     * ends the recording, a broken recording must never fail the calls being recorded.
+     */
+    private void write(final Entry entry)
+    {
+        synchronized (this.out) {
+            if (this.closed || this.failure != null) {
+                return;
+            }
+            try {
+                entry.write();
+            } catch (final IOException e) {
+                this.failure = e;
+                LOGGER.log(Level.WARNING, "Traffic recording failed, nothing more will be recorded", e);
+            }
+        }
+    }
+
+    /**
+     * Writes a request body, leaving out the token field a form body starts with.
+     */
+    private static void writeRequest(final DataOutputStream out, final byte[] body) throws IOException
+    {
+        if (body == null) {
+            out.writeInt(0);
+            return;
+        }
+        int from = 0;
+        if (startsWith(body, TOKEN)) {
+            from = body.length;
+            for (int i = TOKEN.length; i < body.length; i++) {
+                if (body[i] == '&') {
+                    from = i + 1;
+                    break;
+                }
+            }
+        }
+        out.writeInt(body.length - from);
+        out.write(body, from, body.length - from);
+    }
+
+    private static boolean startsWith(final byte[] body, final byte[] prefix)
+    {
+        if (body.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (body[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        synchronized (this.out) {
+            this.closed = true;
+            this.out.close();
+        }
+    }
+
+    private interface Entry
+    {
+        void write() throws IOException;
+    }
+}
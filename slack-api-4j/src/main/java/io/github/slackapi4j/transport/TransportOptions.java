@@ -0,0 +1,88 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.net.URI;
+
+import io.github.slackapi4j.internal.SlackConstants;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Connection pool settings for a {@link HttpTransport}.
+ *
+ * <p>A single transport keeps a pool of keep-alive connections per host, so TLS handshakes
+ * are only paid when the pool grows or an idle connection is evicted.</p>
+ */
+@SuppressWarnings({"FieldMayBeFinal", "RedundantFieldInitialization"})
+@Builder
+@Getter
+public class TransportOptions
+{
+    public static final TransportOptions DEFAULT = builder().build();
+
+    /**
+     * The base of every Web API url, a method name is appended to it.
+     */
+    @Builder.Default
+    private URI baseUri = URI.create("https://" + SlackConstants.HOST + "/api/");
+    /**
+     * The maximum number of pooled connections held open to a single host.
+     */
+    @Builder.Default
+    private int maxConnectionsPerHost = 16;
+    /**
+     * The maximum number of requests waiting for a free connection to a single host.
+     */
+    @Builder.Default
+    private int maxRequestsQueuedPerHost = 1024;
+    /**
+     * How long in milliseconds a pooled connection may sit idle before it is closed.
+     */
+    @Builder.Default
+    private long idleTimeout = 30000;
+    /**
+     * How long in milliseconds to wait for a new connection to be established.
+     */
+    @Builder.Default
+    private long connectTimeout = 15000;
+    /**
+     * The maximum number of threads used for network I/O.
+     */
+    @Builder.Default
+    private int maxThreads = 32;
+    /**
+     * The largest response body in bytes that an asynchronous call will buffer.
+     */
+    @Builder.Default
+    private int maxResponseSize = 32 * 1024 * 1024;
+    /**
+     * Whether to ask for gzip or deflate compressed responses. They are decompressed as they are read.
+     */
+    @Builder.Default
+    private boolean compressed = true;
+}
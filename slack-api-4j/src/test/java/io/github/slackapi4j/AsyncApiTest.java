@@ -0,0 +1,111 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import io.github.slackapi4j.exceptions.SlackException;
+import io.github.slackapi4j.internal.SlackConversationType;
+import io.github.slackapi4j.objects.Conversation;
+import io.github.slackapi4j.transport.HttpTransport;
+import io.github.slackapi4j.transport.StubSlackServer;
+import io.github.slackapi4j.transport.TransportOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncApiTest {
+    static final String CHANNEL = "{\"id\":\"C1234\",\"created\":1500000000,\"is_channel\":true,\"name\":\"general\","
+            + "\"creator\":\"U1234\",\"is_member\":true}";
+
+    @Test
+    public void manyCallsInFlightOnFewThreads() throws Exception {
+        try (StubSlackServer server = new StubSlackServer();
+             HttpTransport transport = new HttpTransport(TransportOptions.builder()
+                     .baseUri(server.getBaseUri())
+                     .maxThreads(8)
+                     .build())) {
+            server.handle("conversations.info", exchange -> {
+                try {
+                    Thread.sleep(20);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                StubSlackServer.respond(exchange, 200, "{\"ok\":true,\"channel\":" + CHANNEL + "}");
+            });
+            // Every call is the same read, they must not be coalesced to keep 200 requests in flight
+            final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder()
+                    .transport(transport)
+                    .rateLimited(false)
+                    .coalesceReads(false)
+                    .build());
+            final List<CompletableFuture<Conversation>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(api.getConversations().getConversationAsync("C1234"));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+            for (final CompletableFuture<Conversation> future : futures) {
+                assertEquals("general", future.get().getName());
+            }
+            assertEquals(200, server.getRequestCount());
+        }
+    }
+
+    @Test
+    public void slackErrorsFailTheFuture() throws Exception {
+        try (StubSlackServer server = new StubSlackServer();
+             HttpTransport transport = new HttpTransport(TransportOptions.builder().baseUri(server.getBaseUri()).build())) {
+            server.handle("conversations.info", exchange ->
+                    StubSlackServer.respond(exchange, 200, "{\"ok\":false,\"error\":\"channel_not_found\"}"));
+            final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder().transport(transport).rateLimited(false).build());
+            final ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> api.getConversations().getConversationAsync("C1234").get());
+            assertTrue(e.getCause() instanceof SlackException);
+            assertEquals("channel_not_found", ((SlackException) e.getCause()).getCode());
+        }
+    }
+
+    @Test
+    public void listsAreDecodedAsTheyStream() throws Exception {
+        try (StubSlackServer server = new StubSlackServer();
+             HttpTransport transport = new HttpTransport(TransportOptions.builder().baseUri(server.getBaseUri()).build())) {
+            server.handle("conversations.list", exchange -> StubSlackServer.respond(exchange, 200,
+                    "{\"ok\":true,\"channels\":[" + CHANNEL + "," + CHANNEL.replace("general", "random") + "]}"));
+            final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder().transport(transport).rateLimited(false).build());
+            final List<Conversation> conversations = api.getConversations()
+                    .listConversationsAsync(Collections.singletonList(SlackConversationType.PUBLIC)).get();
+            assertEquals(2, conversations.size());
+            assertEquals("random", conversations.get(1).getName());
+        }
+    }
+}
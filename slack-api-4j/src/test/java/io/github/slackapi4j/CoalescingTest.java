@@ -0,0 +1,172 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import io.github.slackapi4j.exceptions.SlackDeadlineException;
+import io.github.slackapi4j.exceptions.SlackException;
+import io.github.slackapi4j.objects.Conversation;
+import io.github.slackapi4j.transport.HttpTransport;
+import io.github.slackapi4j.transport.StubSlackServer;
+import io.github.slackapi4j.transport.TransportOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CoalescingTest {
+    private StubSlackServer server;
+    private HttpTransport transport;
+    private SlackAPI api;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.server = new StubSlackServer();
+        this.transport = new HttpTransport(TransportOptions.builder().baseUri(this.server.getBaseUri()).build());
+        this.api = new SlackAPI("xoxb-test", SlackOptions.builder().transport(this.transport).rateLimited(false).build());
+        this.server.handle("conversations.info", exchange -> {
+            sleep(200);
+            StubSlackServer.respond(exchange, 200, "{\"ok\":true,\"channel\":" + AsyncApiTest.CHANNEL + "}");
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.transport.close();
+        this.server.close();
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void identicalReadsShareOneRequest() throws Exception {
+        final List<CompletableFuture<Conversation>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(this.api.getConversations().getConversationAsync("C1234"));
+        }
+        final ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Conversation>> blocking = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                blocking.add(threads.submit(() -> this.api.getConversations().getConversation("C1234")));
+            }
+            for (final Future<Conversation> future : blocking) {
+                assertEquals("general", future.get().getName());
+            }
+        } finally {
+            threads.shutdown();
+        }
+        for (final CompletableFuture<Conversation> future : futures) {
+            assertEquals("general", future.get().getName());
+        }
+        assertEquals(1, this.server.getRequestCount());
+        assertEquals(53, this.api.getSlack().getCoalescedCalls());
+    }
+
+    @Test
+    public void differentParametersAreNotShared() throws Exception {
+        final CompletableFuture<Conversation> first = this.api.getConversations().getConversationAsync("C1234");
+        final CompletableFuture<Conversation> second = this.api.getConversations().getConversationAsync("C5678");
+        first.get();
+        second.get();
+        assertEquals(2, this.server.getRequestCount());
+    }
+
+    @Test
+    public void failuresAreShared() {
+        this.server.handle("conversations.info", exchange -> {
+            sleep(200);
+            StubSlackServer.respond(exchange, 200, "{\"ok\":false,\"error\":\"channel_not_found\"}");
+        });
+        final List<CompletableFuture<Conversation>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(this.api.getConversations().getConversationAsync("C1234"));
+        }
+        for (final CompletableFuture<Conversation> future : futures) {
+            final ExecutionException e = assertThrows(ExecutionException.class, future::get);
+            assertTrue(e.getCause() instanceof SlackException);
+        }
+        assertEquals(1, this.server.getRequestCount());
+    }
+
+    @Test
+    public void cancellingOneCallerLeavesTheOthers() throws Exception {
+        final CompletableFuture<Conversation> first = this.api.getConversations().getConversationAsync("C1234");
+        final CompletableFuture<Conversation> second = this.api.getConversations().getConversationAsync("C1234");
+        first.cancel(true);
+        assertEquals("general", second.get().getName());
+        assertEquals(1, this.server.getRequestCount());
+    }
+
+    @Test
+    public void writesAreNeverShared() throws Exception {
+        final Conversation conversation = this.api.getConversations().getConversation("C1234");
+        final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(this.api.getConversations().closeMultiPartyMessageAsync(conversation));
+        }
+        for (final CompletableFuture<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+        assertEquals(1 + 5, this.server.getRequestCount());
+    }
+
+    @Test
+    public void joinersWaitOnlyUntilTheirOwnDeadline() throws Exception {
+        this.server.handle("conversations.info", exchange -> {
+            sleep(2000);
+            StubSlackServer.respond(exchange, 200, "{\"ok\":true,\"channel\":" + AsyncApiTest.CHANNEL + "}");
+        });
+        final CompletableFuture<Conversation> slow = this.api.getConversations().getConversationAsync("C1234");
+        final long start = System.nanoTime();
+        try (Deadline.Scope ignored = Deadline.after(200, TimeUnit.MILLISECONDS).enter()) {
+            assertThrows(SlackDeadlineException.class, () -> this.api.getConversations().getConversation("C1234"));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(1, this.api.getDeadlineMisses());
+        assertEquals("general", slow.get().getName());
+        assertEquals(1, this.server.getRequestCount());
+    }
+}
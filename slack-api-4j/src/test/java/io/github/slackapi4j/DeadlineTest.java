@@ -0,0 +1,127 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import io.github.slackapi4j.exceptions.SlackDeadlineException;
+import io.github.slackapi4j.internal.SlackConnection;
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.internal.Utilities;
+import io.github.slackapi4j.transport.HttpTransport;
+import io.github.slackapi4j.transport.LoopbackTransport;
+import io.github.slackapi4j.transport.StubSlackServer;
+import io.github.slackapi4j.transport.TransportOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeadlineTest {
+    @Test
+    public void soonerDeadlinesWin() {
+        final Deadline soon = Deadline.after(1, TimeUnit.SECONDS);
+        try (Deadline.Scope ignored = soon.enter()) {
+            try (Deadline.Scope inner = Deadline.after(1, TimeUnit.HOURS).enter()) {
+                assertSame(soon, Deadline.current());
+            }
+        }
+        assertEquals(null, Deadline.current());
+    }
+
+    @Test
+    public void callsHaveNoDeadlineUnlessOneIsSet() {
+        final SlackConnection connection = new SlackConnection("xoxb-test", SlackOptions.builder()
+                .transport(new LoopbackTransport())
+                .build());
+        assertNull(connection.newDeadline());
+        final Deadline soon = Deadline.after(1, TimeUnit.SECONDS);
+        try (Deadline.Scope ignored = soon.enter()) {
+            assertSame(soon, connection.newDeadline());
+        }
+    }
+
+    @Test
+    public void callsThatWouldWaitTooLongAreDropped() throws Exception {
+        final AtomicInteger sent = new AtomicInteger();
+        final LoopbackTransport loopback = new LoopbackTransport()
+                .handle(SlackConstants.CONVERSATION_LIST, request -> {
+                    sent.incrementAndGet();
+                    return LoopbackTransport.ok("{\"channels\":[]}");
+                });
+        final SlackConnection connection = new SlackConnection("xoxb-test", SlackOptions.builder()
+                .transport(loopback)
+                .build());
+        try (Deadline.Scope ignored = Deadline.after(1, TimeUnit.SECONDS).enter()) {
+            // Tier 2 lets three calls through, the fourth would have to wait three seconds
+            for (int i = 0; i < 3; i++) {
+                connection.callMethodHandled(SlackConstants.CONVERSATION_LIST, Utilities.EMPTY_MAP);
+            }
+            final long start = System.nanoTime();
+            assertThrows(SlackDeadlineException.class,
+                    () -> connection.callMethodHandled(SlackConstants.CONVERSATION_LIST, Utilities.EMPTY_MAP));
+            final ExecutionException async = assertThrows(ExecutionException.class,
+                    () -> connection.callMethodHandledAsync(SlackConstants.CONVERSATION_LIST, Utilities.EMPTY_MAP).get());
+            assertTrue(async.getCause() instanceof SlackDeadlineException);
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+        }
+        assertEquals(3, sent.get());
+        assertEquals(2, connection.getDeadlineMisses());
+    }
+
+    @Test
+    public void slowAnswersTimeOut() throws Exception {
+        try (StubSlackServer server = new StubSlackServer();
+             HttpTransport transport = new HttpTransport(TransportOptions.builder().baseUri(server.getBaseUri()).build())) {
+            server.handle("users.info", exchange -> {
+                try {
+                    Thread.sleep(2000);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                StubSlackServer.respond(exchange, 200, "{\"ok\":true,\"user\":{}}");
+            });
+            final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder()
+                    .transport(transport)
+                    .rateLimited(false)
+                    .timeout(300)
+                    .build());
+            final long start = System.nanoTime();
+            assertThrows(SlackDeadlineException.class, () -> api.getSlack().callMethodHandled(SlackConstants.USER_INFO, Utilities.EMPTY_MAP));
+            final ExecutionException async = assertThrows(ExecutionException.class,
+                    () -> api.getSlack().callMethodHandledAsync(SlackConstants.USER_INFO, Utilities.EMPTY_MAP).get());
+            assertTrue(async.getCause() instanceof SlackDeadlineException);
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1500));
+            assertEquals(2, api.getDeadlineMisses());
+        }
+    }
+}
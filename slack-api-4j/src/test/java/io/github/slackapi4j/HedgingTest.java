@@ -0,0 +1,103 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import io.github.slackapi4j.internal.SlackConnection;
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.internal.Utilities;
+import io.github.slackapi4j.transport.LoopbackTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HedgingTest {
+    private static final int WARM_UP = 40;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final LoopbackTransport loopback = new LoopbackTransport(this.executor)
+            .handle(SlackConstants.USER_INFO, request -> {
+                // The call after the warm up stalls, as the odd slow response does
+                sleep(this.calls.incrementAndGet() == WARM_UP + 1 ? 500 : 1);
+                return LoopbackTransport.ok("{\"user\":{}}");
+            });
+
+    @AfterEach
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return how long the stalled call took in milliseconds
+     */
+    private long stalledCall(final SlackConnection connection) throws Exception {
+        for (int i = 0; i < WARM_UP; i++) {
+            connection.callMethodHandled(SlackConstants.USER_INFO, Utilities.EMPTY_MAP);
+        }
+        final long start = System.nanoTime();
+        connection.callMethodHandled(SlackConstants.USER_INFO, Utilities.EMPTY_MAP);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Test
+    public void slowReadsAreHedged() throws Exception {
+        final SlackConnection connection = new SlackConnection("xoxb-test", SlackOptions.builder()
+                .transport(this.loopback)
+                .rateLimited(false)
+                .hedge(HedgeOptions.DEFAULT)
+                .build());
+        final long took = this.stalledCall(connection);
+        assertTrue(took < 250, "took " + took + "ms");
+        assertEquals(1, connection.getHedgedCalls());
+    }
+
+    @Test
+    public void hedgesStayWithinBudget() throws Exception {
+        final SlackConnection connection = new SlackConnection("xoxb-test", SlackOptions.builder()
+                .transport(this.loopback)
+                .rateLimited(false)
+                .hedge(HedgeOptions.builder().budget(0).build())
+                .build());
+        assertTrue(this.stalledCall(connection) >= 500);
+        assertEquals(0, connection.getHedgedCalls());
+    }
+}
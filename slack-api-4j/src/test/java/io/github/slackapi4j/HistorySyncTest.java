@@ -0,0 +1,192 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.gson.JsonObject;
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.objects.Conversation;
+import io.github.slackapi4j.objects.Message;
+import io.github.slackapi4j.transport.LoopbackTransport;
+import io.github.slackapi4j.transport.SlackResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HistorySyncTest {
+    private static final String THREAD = "103.000100";
+
+    /**
+     * Each conversation's messages, oldest first.
+     */
+    private final Map<String, List<String>> history = new ConcurrentHashMap<>();
+    private final List<String> replies = Collections.synchronizedList(new ArrayList<>(Arrays.asList("103.000200", "103.000300")));
+    private final List<String> oldest = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger repliesRead = new AtomicInteger();
+    private final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder()
+            .transport(new LoopbackTransport()
+                    .handle(SlackConstants.CONVERSATION_HISTORY, request -> {
+                        final JsonObject arguments = LoopbackTransport.arguments(request);
+                        this.oldest.add(arguments.has("oldest") ? arguments.get("oldest").getAsString() : null);
+                        final List<String> messages = after(this.history.get(arguments.get("channel").getAsString()), arguments);
+                        Collections.reverse(messages);
+                        return this.page(messages);
+                    })
+                    .handle(SlackConstants.CONVERSATION_REPLIES, request -> {
+                        final JsonObject arguments = LoopbackTransport.arguments(request);
+                        assertEquals(THREAD, arguments.get("ts").getAsString());
+                        this.repliesRead.incrementAndGet();
+                        final List<String> replies;
+                        synchronized (this.replies) {
+                            replies = after(this.replies, arguments);
+                        }
+                        replies.add(0, THREAD);
+                        return this.page(replies);
+                    }))
+            .rateLimited(false)
+            .build());
+
+    @TempDir
+    Path directory;
+
+    private static List<String> after(final List<String> messages, final JsonObject arguments) {
+        final double oldest = arguments.has("oldest") ? Double.parseDouble(arguments.get("oldest").getAsString()) : 0;
+        final boolean inclusive = arguments.has("inclusive");
+        return messages.stream().filter(ts -> Double.parseDouble(ts) > oldest || inclusive && Double.parseDouble(ts) == oldest)
+                .collect(Collectors.toList());
+    }
+
+    private SlackResponse page(final List<String> messages) {
+        final String latestReply = this.replies.get(this.replies.size() - 1);
+        return LoopbackTransport.ok("{\"messages\":[" + messages.stream()
+                .map(ts -> "{\"type\":\"message\",\"text\":\"m\",\"ts\":\"" + ts + "\""
+                        + (ts.startsWith("103.") ? ",\"thread_ts\":\"" + THREAD + "\"" : "")
+                        + (ts.equals(THREAD) ? ",\"latest_reply\":\"" + latestReply + "\"" : "") + "}")
+                .collect(Collectors.joining(",")) + "]}");
+    }
+
+    private Conversation conversation(final String id) {
+        this.history.put(id, new ArrayList<>(Arrays.asList("101.000100", "102.000100", THREAD, "104.000100", "105.000100")));
+        return this.api.getGson().fromJson(AsyncApiTest.CHANNEL.replace("C1234", id), Conversation.class);
+    }
+
+    @Test
+    public void eachRunOnlyReadsWhatIsNew() throws Exception {
+        final Path state = this.directory.resolve("marks.bin");
+        final List<Conversation> conversations = Arrays.asList(this.conversation("C0"), this.conversation("C1"));
+        final List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        final HistorySync first = new HistorySync(this.api, state);
+        assertNull(first.getMark(conversations.get(0)));
+        assertEquals(14, first.sync(conversations, 2, (conversation, message) -> seen.add(message.getTs())));
+        assertTrue(seen.contains("103.000300"));
+
+        this.history.get("C0").add("106.000100");
+        this.oldest.clear();
+        final HistorySync second = new HistorySync(this.api, state);
+        assertEquals("105.000100", second.getMark(conversations.get(0)));
+        final List<Message> added = Collections.synchronizedList(new ArrayList<>());
+        assertEquals(1, second.sync(conversations, 2, (conversation, message) -> added.add(message)));
+        assertEquals("106.000100", added.get(0).getTs());
+        // History is read back to the thread kept, whose replies are not read again as it shows none newer
+        assertEquals(Arrays.asList(THREAD, THREAD), this.oldest);
+        assertEquals(2, this.repliesRead.get());
+
+        assertEquals(0, new HistorySync(this.api, state).sync(conversations, 2, (conversation, message) -> added.add(message)));
+        assertEquals("106.000100", new HistorySync(this.api, state).getMark(conversations.get(0)));
+    }
+
+    @Test
+    public void repliesToThreadsFromEarlierSyncsAreRead() throws Exception {
+        final Path state = this.directory.resolve("marks.bin");
+        final List<Conversation> conversations = Collections.singletonList(this.conversation("C0"));
+        assertEquals(7, new HistorySync(this.api, state).sync(conversations, 1, (conversation, message) -> { }));
+
+        // The parent is older than the mark, so only the reply is new
+        this.replies.add("107.000100");
+        final List<String> added = Collections.synchronizedList(new ArrayList<>());
+        assertEquals(1, new HistorySync(this.api, state).sync(conversations, 1, (conversation, message) -> added.add(message.getTs())));
+        assertEquals(Collections.singletonList("107.000100"), added);
+        assertEquals(2, this.repliesRead.get());
+        assertEquals(0, new HistorySync(this.api, state).sync(conversations, 1, (conversation, message) -> added.add(message.getTs())));
+        assertEquals(2, this.repliesRead.get());
+    }
+
+    @Test
+    public void aFailedSyncKeepsWhatItGotThrough() throws Exception {
+        final Path state = this.directory.resolve("marks.bin");
+        final List<Conversation> conversations = Arrays.asList(this.conversation("C0"), this.conversation("C1"));
+        assertThrows(IllegalStateException.class, () -> new HistorySync(this.api, state).sync(conversations, 1, (conversation, message) -> {
+            if (conversation == conversations.get(1)) {
+                throw new IllegalStateException("listener failed");
+            }
+        }));
+        final HistorySync reloaded = new HistorySync(this.api, state);
+        assertEquals("105.000100", reloaded.getMark(conversations.get(0)));
+        assertNull(reloaded.getMark(conversations.get(1)));
+        try (Stream<Path> files = Files.list(this.directory)) {
+            assertEquals(Collections.singletonList(state), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void aFailedSyncStopsTheOtherConversations() throws Exception {
+        final List<Conversation> conversations = Arrays.asList(this.conversation("C0"), this.conversation("C1"));
+        final AtomicInteger late = new AtomicInteger();
+        final HistorySync sync = new HistorySync(this.api, this.directory.resolve("marks.bin"));
+        assertThrows(IllegalStateException.class, () -> sync.sync(conversations, 2, (conversation, message) -> {
+            if (conversation == conversations.get(0)) {
+                throw new IllegalStateException("listener failed");
+            }
+            late.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        final int stopped = late.get();
+        Thread.sleep(500);
+        // The other conversation stops at its next message rather than running on unseen
+        assertTrue(late.get() <= stopped + 1);
+        assertTrue(late.get() < 7);
+    }
+}
@@ -0,0 +1,192 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.gson.JsonObject;
+import io.github.slackapi4j.exceptions.SlackPagingException;
+
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.internal.SlackConversationType;
+import io.github.slackapi4j.objects.Conversation;
+import io.github.slackapi4j.objects.Message;
+import io.github.slackapi4j.objects.ObjectID;
+import io.github.slackapi4j.transport.LoopbackTransport;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PaginationTest {
+    private static final List<SlackConversationType> PUBLIC = Collections.singletonList(SlackConversationType.PUBLIC);
+
+    private final List<String> cursors = Collections.synchronizedList(new ArrayList<>());
+    private final LoopbackTransport loopback = new LoopbackTransport()
+            .handle(SlackConstants.CONVERSATION_LIST, request -> {
+                final JsonObject arguments = LoopbackTransport.arguments(request);
+                final int page = arguments.has("cursor") ? Integer.parseInt(arguments.get("cursor").getAsString()) : 0;
+                this.cursors.add(String.valueOf(page));
+                final String next = page < 2 ? String.valueOf(page + 1) : "";
+                return LoopbackTransport.ok("{\"channels\":[" + channel(page * 2) + "," + channel(page * 2 + 1) + "],"
+                        + "\"response_metadata\":{\"next_cursor\":\"" + next + "\"}}");
+            });
+    private final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder()
+            .transport(this.loopback)
+            .rateLimited(false)
+            .build());
+
+    private static String channel(final int index) {
+        return AsyncApiTest.CHANNEL.replace("general", "channel-" + index);
+    }
+
+    @Test
+    public void listsFollowEveryCursor() throws Exception {
+        assertEquals(6, this.api.getConversations().listConversations(PUBLIC).size());
+        final List<Conversation> async = this.api.getConversations().listConversationsAsync(PUBLIC).get();
+        assertEquals("channel-5", async.get(5).getName());
+        assertEquals(6, this.cursors.size());
+    }
+
+    @Test
+    public void theNextPageIsFetchedWhileThisOneIsRead() {
+        final CloseableIterator<Conversation> conversations = this.api.getConversations().iterateConversations(PUBLIC, true);
+        assertEquals("channel-0", conversations.next().getName());
+        // Taking the first page sent the request for the second
+        assertEquals(2, this.cursors.size());
+        assertEquals("channel-1", conversations.next().getName());
+        assertEquals("channel-2", conversations.next().getName());
+        assertEquals(3, this.cursors.size());
+    }
+
+    @Test
+    public void nothingIsSentUntilTheFirstItemIsAskedFor() {
+        final CloseableIterator<Conversation> conversations = this.api.getConversations().iterateConversations(PUBLIC, true);
+        this.api.getConversations().streamConversations(PUBLIC, true).close();
+        conversations.close();
+        assertEquals(0, this.cursors.size());
+    }
+
+    @Test
+    public void closingAStreamStopsFetching() {
+        try (Stream<Conversation> conversations = this.api.getConversations().streamConversations(PUBLIC, true)) {
+            assertEquals("channel-0", conversations.findFirst().get().getName());
+        }
+        assertEquals(2, this.cursors.size());
+    }
+
+    @Test
+    public void pageFailuresAreThrownWhileIterating() {
+        this.loopback.handle(SlackConstants.CONVERSATION_MEMBERS, request -> LoopbackTransport.error("channel_not_found"));
+        final Conversation conversation = this.api.getGson().fromJson(AsyncApiTest.CHANNEL, Conversation.class);
+        final SlackPagingException e = assertThrows(SlackPagingException.class,
+                () -> this.api.getConversations().streamMembers(conversation).collect(Collectors.toList()));
+        assertTrue(e.getMessage().contains("channel_not_found"));
+    }
+
+    @Test
+    public void historyIsReadWithinItsBoundsAPageAtATime() {
+        final List<JsonObject> requests = new ArrayList<>();
+        this.loopback.handle(SlackConstants.CONVERSATION_HISTORY, request -> {
+            final JsonObject arguments = LoopbackTransport.arguments(request);
+            requests.add(arguments);
+            final int page = arguments.has("cursor") ? Integer.parseInt(arguments.get("cursor").getAsString()) : 0;
+            final StringBuilder messages = new StringBuilder();
+            for (int i = 0; i < 50; i++) {
+                messages.append(i == 0 ? "" : ",").append("{\"type\":\"message\",\"text\":\"m\",\"ts\":\"")
+                        .append(1500000000 - page * 50 - i).append(".000100\"}");
+            }
+            return LoopbackTransport.ok("{\"messages\":[" + messages + "],\"has_more\":" + (page < 3)
+                    + ",\"response_metadata\":{\"next_cursor\":\"" + (page < 3 ? page + 1 : "") + "\"}}");
+        });
+        final Conversation conversation = this.api.getGson().fromJson(AsyncApiTest.CHANNEL, Conversation.class);
+        final List<Message> messages;
+        try (Stream<Message> history = this.api.getConversations().streamHistory(conversation, HistoryOptions.builder()
+                .oldest("1400000000.000000")
+                .latest("1500000001.000000")
+                .pageSize(50)
+                .build())) {
+            messages = history.collect(Collectors.toList());
+        }
+        assertEquals(200, messages.size());
+        assertEquals("1499999801.000100", messages.get(199).getTs());
+        assertEquals(4, requests.size());
+        assertEquals("50", requests.get(0).get("limit").getAsString());
+        assertEquals("1400000000.000000", requests.get(3).get("oldest").getAsString());
+        assertEquals("1500000001.000000", requests.get(3).get("latest").getAsString());
+        assertEquals("C1234", requests.get(3).get("channel").getAsString());
+    }
+
+    @Test
+    public void membersOfManyConversationsAreFetchedSeveralAtATime() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            final AtomicInteger inFlight = new AtomicInteger();
+            final AtomicInteger maxInFlight = new AtomicInteger();
+            final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder()
+                    .transport(new LoopbackTransport(executor).handle(SlackConstants.CONVERSATION_MEMBERS, request -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(10);
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        inFlight.decrementAndGet();
+                        final JsonObject arguments = LoopbackTransport.arguments(request);
+                        final String channel = arguments.get("channel").getAsString();
+                        // Every conversation has two pages of members
+                        return arguments.has("cursor")
+                                ? LoopbackTransport.ok("{\"members\":[\"U2" + channel + "\"]}")
+                                : LoopbackTransport.ok("{\"members\":[\"U1" + channel + "\"],\"response_metadata\":{\"next_cursor\":\"x\"}}");
+                    }))
+                    .rateLimited(false)
+                    .build());
+            final List<Conversation> conversations = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                conversations.add(api.getGson().fromJson(AsyncApiTest.CHANNEL.replace("C1234", "C" + i), Conversation.class));
+            }
+            final Map<Conversation, List<ObjectID>> members = new ConcurrentHashMap<>();
+            api.getConversations().getMembers(conversations, 4, members::put);
+            assertEquals(20, members.size());
+            assertEquals("U2C7", members.get(conversations.get(7)).get(1).toString());
+            assertTrue(maxInFlight.get() <= 4, "in flight " + maxInFlight.get());
+            assertTrue(maxInFlight.get() > 1, "in flight " + maxInFlight.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
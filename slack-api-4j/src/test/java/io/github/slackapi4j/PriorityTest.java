@@ -0,0 +1,105 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.objects.Message;
+import io.github.slackapi4j.objects.ObjectID;
+import io.github.slackapi4j.transport.LoopbackTransport;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PriorityTest {
+    @Test
+    public void scopesNestAndRestore() {
+        assertNull(RequestPriority.current());
+        try (RequestPriority.Scope ignored = RequestPriority.BULK.enter()) {
+            try (RequestPriority.Scope inner = RequestPriority.INTERACTIVE.enter()) {
+                assertEquals(RequestPriority.INTERACTIVE, RequestPriority.current());
+            }
+            assertEquals(RequestPriority.BULK, RequestPriority.current());
+        }
+        assertNull(RequestPriority.current());
+    }
+
+    @Test
+    public void repliesOvertakeABackfill() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final AtomicInteger inFlight = new AtomicInteger();
+            final AtomicInteger maxInFlight = new AtomicInteger();
+            final LoopbackTransport loopback = new LoopbackTransport(executor)
+                    .handle(SlackConstants.CONVERSATION_INFO, request -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(50);
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        inFlight.decrementAndGet();
+                        return LoopbackTransport.ok("{\"channel\":" + AsyncApiTest.CHANNEL + "}");
+                    })
+                    .handle(SlackConstants.CHAT_POST, request -> LoopbackTransport.ok("{\"message\":{\"text\":\"hi\",\"ts\":\"1500000000.000100\"}}"));
+            final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder()
+                    .transport(loopback)
+                    .rateLimited(false)
+                    .coalesceReads(false)
+                    .priorities(PriorityOptions.DEFAULT)
+                    .build());
+            final List<CompletableFuture<?>> backfill = new ArrayList<>();
+            try (RequestPriority.Scope ignored = RequestPriority.BULK.enter()) {
+                for (int i = 0; i < 40; i++) {
+                    backfill.add(api.getConversations().getConversationAsync("C1234"));
+                }
+            }
+            final long start = System.nanoTime();
+            api.sendMessageAsync(Message.builder()
+                    .conversationID(new ObjectID("C1234"))
+                    .subtype(Message.MessageType.Normal)
+                    .text("hi")
+                    .build()).get();
+            final long reply = System.nanoTime() - start;
+            CompletableFuture.allOf(backfill.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+            // 40 bulk calls four at a time take half a second, the reply must not queue behind them for a thread
+            assertTrue(reply < TimeUnit.MILLISECONDS.toNanos(200), "reply took " + TimeUnit.NANOSECONDS.toMillis(reply) + "ms");
+            assertEquals(PriorityOptions.DEFAULT.getBulkConcurrency(), maxInFlight.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
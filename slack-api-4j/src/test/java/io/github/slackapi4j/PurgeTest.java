@@ -0,0 +1,177 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.gson.JsonObject;
+import io.github.slackapi4j.exceptions.SlackRequestLimitException;
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.objects.Conversation;
+import io.github.slackapi4j.transport.LoopbackTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PurgeTest {
+    private static final int MESSAGES = 150;
+    private static final int PAGE = 50;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+    private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+    private final Set<String> limited = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger limitedAttempts = new AtomicInteger();
+    private volatile String unreachable;
+    private volatile String alwaysLimited;
+    private final LoopbackTransport loopback = new LoopbackTransport(this.executor)
+            .handle(SlackConstants.CONVERSATION_HISTORY, request -> {
+                final JsonObject arguments = LoopbackTransport.arguments(request);
+                final double latest = arguments.has("latest") ? Double.parseDouble(arguments.get("latest").getAsString()) : Double.MAX_VALUE;
+                final int offset = arguments.has("cursor") ? Integer.parseInt(arguments.get("cursor").getAsString()) : 0;
+                final List<String> messages = new ArrayList<>();
+                for (int i = 0; i < MESSAGES; i++) {
+                    if (Double.parseDouble(ts(i) + ".000100") < latest) {
+                        messages.add("{\"type\":\"message\",\"text\":\"m\",\"ts\":\"" + ts(i) + ".000100\"}");
+                    }
+                }
+                final int end = Math.min(messages.size(), offset + PAGE);
+                return LoopbackTransport.ok("{\"messages\":[" + String.join(",", messages.subList(offset, end)) + "],"
+                        + "\"response_metadata\":{\"next_cursor\":\"" + (end < messages.size() ? String.valueOf(end) : "") + "\"}}");
+            })
+            .handle(SlackConstants.CHAT_DELETE, request -> {
+                final String ts = LoopbackTransport.arguments(request).get("ts").getAsString();
+                this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                    if (ts.equals(this.unreachable)) {
+                        throw new IOException("Connection reset");
+                    }
+                    if (ts.equals(this.alwaysLimited)) {
+                        this.limitedAttempts.incrementAndGet();
+                        return LoopbackTransport.respond(429, "{\"ok\":false,\"error\":\"ratelimited\"}");
+                    }
+                    if (ts.endsWith("7.000100") && this.limited.add(ts)) {
+                        return LoopbackTransport.respond(429, "{\"ok\":false,\"error\":\"ratelimited\"}");
+                    }
+                    if (ts.startsWith("1000.")) {
+                        return LoopbackTransport.error("cant_delete_message");
+                    }
+                    return this.deleted.add(ts) ? LoopbackTransport.ok("{}") : LoopbackTransport.error("message_not_found");
+                } catch (final InterruptedException e) {
+                    throw new IOException(e);
+                } finally {
+                    this.inFlight.decrementAndGet();
+                }
+            });
+    private final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder()
+            .transport(this.loopback)
+            .rateLimited(false)
+            .build());
+    private final Conversation conversation = this.api.getGson().fromJson(AsyncApiTest.CHANNEL, Conversation.class);
+
+    /**
+     * Message 0 is the newest.
+     */
+    private static int ts(final int index) {
+        return 1000 - index;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void deletesEveryPageInParallel() throws Exception {
+        final List<PurgeProgress> progress = Collections.synchronizedList(new ArrayList<>());
+        final PurgeProgress result = this.api.getConversations().purgeChannel(this.conversation, PurgeOptions.builder()
+                .parallelism(4)
+                .listener(progress::add)
+                .build());
+        assertEquals(MESSAGES - 1, result.getDeleted());
+        assertEquals(1, result.getFailed());
+        assertEquals(MESSAGES - 1, this.deleted.size());
+        assertFalse(this.limited.isEmpty());
+        assertEquals(ts(MESSAGES - 1) + ".000100", result.getCheckpoint());
+        assertEquals(MESSAGES, progress.size());
+        assertTrue(this.maxInFlight.get() <= 4, "in flight " + this.maxInFlight.get());
+        assertTrue(this.maxInFlight.get() > 1, "in flight " + this.maxInFlight.get());
+    }
+
+    @Test
+    public void anInterruptedPurgeResumesFromItsCheckpoint() throws Exception {
+        this.unreachable = ts(80) + ".000100";
+        final AtomicInteger reported = new AtomicInteger();
+        final List<String> checkpoints = Collections.synchronizedList(new ArrayList<>());
+        assertThrows(IOException.class, () -> this.api.getConversations().purgeChannel(this.conversation, PurgeOptions.builder()
+                .listener(p -> {
+                    reported.incrementAndGet();
+                    checkpoints.add(p.getCheckpoint());
+                })
+                .build()));
+        final String checkpoint = checkpoints.get(checkpoints.size() - 1);
+        // Nothing older than the message that could not be deleted is passed by the checkpoint
+        assertTrue(Double.parseDouble(checkpoint) > ts(80), checkpoint);
+        this.unreachable = null;
+        final PurgeProgress resumed = this.api.getConversations().purgeChannel(this.conversation, PurgeOptions.builder()
+                .resumeFrom(checkpoint)
+                .build());
+        assertEquals(MESSAGES - 1, this.deleted.size());
+        // Only what is older than the checkpoint is sent again
+        final int passed = ts(0) - (int) Double.parseDouble(checkpoint) + 1;
+        assertEquals(MESSAGES - passed, resumed.getDeleted());
+        assertTrue(reported.get() >= passed);
+    }
+
+    @Test
+    public void aDeleteThatIsAlwaysLimitedStopsThePurge() {
+        this.alwaysLimited = ts(20) + ".000100";
+        final List<String> checkpoints = Collections.synchronizedList(new ArrayList<>());
+        assertThrows(SlackRequestLimitException.class, () -> this.api.getConversations().purgeChannel(this.conversation,
+                PurgeOptions.builder()
+                        .maxAttempts(3)
+                        .listener(p -> checkpoints.add(p.getCheckpoint()))
+                        .build()));
+        assertEquals(3, this.limitedAttempts.get());
+        final String checkpoint = checkpoints.get(checkpoints.size() - 1);
+        assertTrue(Double.parseDouble(checkpoint) > ts(20), checkpoint);
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.common.io.CharStreams;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import io.github.slackapi4j.exceptions.SlackDeadlineException;
+import io.github.slackapi4j.exceptions.SlackRequestLimitException;
+import io.github.slackapi4j.objects.Message;
+import io.github.slackapi4j.objects.ObjectID;
+import io.github.slackapi4j.transport.HttpTransport;
+import io.github.slackapi4j.transport.StubSlackServer;
+import io.github.slackapi4j.transport.TransportOptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetryTest {
+    private static Message message(final String text) {
+        return Message.builder()
+                .conversationID(new ObjectID("C1234"))
+                .subtype(Message.MessageType.Normal)
+                .text(text)
+                .build();
+    }
+
+    private static String textOf(final HttpExchange exchange) throws IOException {
+        final JsonObject body = new JsonParser().parse(CharStreams.toString(
+                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))).getAsJsonObject();
+        return body.get("text").getAsString();
+    }
+
+    @Test
+    public void limitedPostsAreRetriedInOrder() throws Exception {
+        try (StubSlackServer server = new StubSlackServer();
+             HttpTransport transport = new HttpTransport(TransportOptions.builder().baseUri(server.getBaseUri()).build())) {
+            final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+            final boolean[] limited = {false};
+            server.handle("chat.postMessage", exchange -> {
+                final String text = textOf(exchange);
+                synchronized (limited) {
+                    if (!limited[0]) {
+                        limited[0] = true;
+                        exchange.getResponseHeaders().set("Retry-After", "0");
+                        StubSlackServer.respond(exchange, 429, "{\"ok\":false,\"error\":\"ratelimited\"}");
+                        return;
+                    }
+                }
+                delivered.add(text);
+                StubSlackServer.respond(exchange, 200, "{\"ok\":true,\"message\":{\"text\":\"" + text + "\",\"ts\":\"1.0\"}}");
+            });
+            final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder()
+                    .transport(transport)
+                    .rateLimited(false)
+                    .retry(RetryOptions.builder().baseBackoff(20).build())
+                    .build());
+            final List<CompletableFuture<Message>> futures = new ArrayList<>();
+            final List<String> sent = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                sent.add("message " + i);
+                futures.add(api.sendMessageAsync(message("message " + i)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+            assertEquals(sent, delivered);
+            assertEquals(1, api.getRetryStats().getRetries());
+            assertEquals(0, api.getRetryStats().getExhausted());
+        }
+    }
+
+    @Test
+    public void givesUpAtTheDeadline() throws Exception {
+        try (StubSlackServer server = new StubSlackServer();
+             HttpTransport transport = new HttpTransport(TransportOptions.builder().baseUri(server.getBaseUri()).build())) {
+            server.handle("chat.postMessage", exchange -> {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                StubSlackServer.respond(exchange, 429, "{\"ok\":false,\"error\":\"ratelimited\"}");
+            });
+            final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder()
+                    .transport(transport)
+                    .rateLimited(false)
+                    .retry(RetryOptions.builder().baseBackoff(20).deadline(2500).build())
+                    .build());
+            // Warm the transport up so the first connection does not eat into the deadline
+            final Message warmUp = message("warm up");
+            warmUp.setUserId(new ObjectID("U1234"));
+            api.sendEphemeral(warmUp);
+            final long start = System.currentTimeMillis();
+            final SlackRequestLimitException e = assertThrows(SlackRequestLimitException.class,
+                    () -> api.sendMessage(message("hello")));
+            assertTrue(e.getRetryTime() > start);
+            assertTrue(System.currentTimeMillis() - start < 2500);
+            // Sent at 0s, ~1s and ~2s; the next wait would end past the deadline
+            assertEquals(1 + 3, server.getRequestCount());
+            assertEquals(2, api.getRetryStats().getRetries());
+            assertEquals(1, api.getRetryStats().getExhausted());
+            assertTrue(api.getRetryStats().getWaitTime(TimeUnit.MILLISECONDS) >= 1000);
+        }
+    }
+
+    @Test
+    public void waitingForTheChannelStopsAtTheDeadline() throws Exception {
+        try (StubSlackServer server = new StubSlackServer();
+             HttpTransport transport = new HttpTransport(TransportOptions.builder().baseUri(server.getBaseUri()).build())) {
+            final CountDownLatch received = new CountDownLatch(1);
+            server.handle("chat.postMessage", exchange -> {
+                received.countDown();
+                try {
+                    Thread.sleep(2000);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                StubSlackServer.respond(exchange, 200, "{\"ok\":true,\"message\":{\"text\":\"slow\",\"ts\":\"1.0\"}}");
+            });
+            final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder()
+                    .transport(transport)
+                    .rateLimited(false)
+                    .retry(RetryOptions.DEFAULT)
+                    .build());
+            final CompletableFuture<Message> slow = api.sendMessageAsync(message("slow"));
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+            final long start = System.nanoTime();
+            try (Deadline.Scope ignored = Deadline.after(300, TimeUnit.MILLISECONDS).enter()) {
+                // Queued behind the slow post to the same channel
+                assertThrows(SlackDeadlineException.class, () -> api.sendMessage(message("hello")));
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1500));
+            assertEquals(1, api.getDeadlineMisses());
+            slow.get(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.slackapi4j;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import io.github.slackapi4j.exceptions.SlackRequestLimitException;
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.transport.LoopbackTransport;
+import io.github.slackapi4j.transport.SlackResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SlackWorkspacesTest {
+    private static final String CHANNEL = "{\"ok\":true,\"channel\":" + AsyncApiTest.CHANNEL + "}";
+
+    @Test
+    public void workspacesShareOneTransport() throws Exception {
+        final Set<String> tokens = ConcurrentHashMap.newKeySet();
+        final LoopbackTransport loopback = new LoopbackTransport()
+                .handle(SlackConstants.CONVERSATION_INFO, request -> {
+                    tokens.add(LoopbackTransport.arguments(request).get("token").getAsString());
+                    return LoopbackTransport.respond(200, CHANNEL);
+                });
+        final SlackWorkspaces workspaces = new SlackWorkspaces(SlackOptions.builder().transport(loopback).rateLimited(false).build());
+        for (int i = 0; i < 300; i++) {
+            assertEquals("general", workspaces.get("xoxb-" + i).getConversations().getConversation("C1234").getName());
+        }
+        assertEquals(300, workspaces.size());
+        assertEquals(300, tokens.size());
+        assertSame(workspaces.get("xoxb-7"), workspaces.get("xoxb-7"));
+        assertSame(workspaces.get("xoxb-1").getGson(), workspaces.get("xoxb-2").getGson());
+        assertSame(workspaces.get("xoxb-7"), workspaces.remove("xoxb-7"));
+        assertEquals(299, workspaces.size());
+    }
+
+    @Test
+    public void rateLimitsAreKeptPerToken() throws Exception {
+        final LoopbackTransport loopback = new LoopbackTransport()
+                .handle(SlackConstants.CONVERSATION_INFO, request -> {
+                    if ("xoxb-limited".equals(LoopbackTransport.arguments(request).get("token").getAsString())) {
+                        final SlackResponse response = LoopbackTransport.respond(429, "{\"ok\":false,\"error\":\"ratelimited\"}");
+                        response.getHeaders().put("Retry-After", "30");
+                        return response;
+                    }
+                    return LoopbackTransport.respond(200, CHANNEL);
+                });
+        final SlackWorkspaces workspaces = new SlackWorkspaces(SlackOptions.builder().transport(loopback).build());
+        assertThrows(SlackRequestLimitException.class,
+                () -> workspaces.get("xoxb-limited").getConversations().getConversation("C1234"));
+        final long start = System.nanoTime();
+        workspaces.get("xoxb-other").getConversations().getConversation("C1234");
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+}
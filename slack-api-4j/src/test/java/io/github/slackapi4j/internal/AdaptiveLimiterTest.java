@@ -0,0 +1,127 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.common.base.Ticker;
+import io.github.slackapi4j.AdaptiveOptions;
+import io.github.slackapi4j.RequestPriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveLimiterTest {
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final AdaptiveLimiter limiter = new AdaptiveLimiter(AdaptiveOptions.builder()
+            .initialLimit(4)
+            .maxLimit(6)
+            .build(), new Ticker() {
+        @Override
+        public long read() {
+            return AdaptiveLimiterTest.this.now.get();
+        }
+    });
+
+    private void hold(final int calls) throws InterruptedException {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(this.limiter.tryAcquire(0));
+        }
+    }
+
+    @Test
+    public void growsWhileBusyUpToTheMaximum() throws InterruptedException {
+        this.hold(4);
+        for (int i = 0; i < 20; i++) {
+            this.limiter.onAnswered(SlackConstants.USER_INFO, RTT);
+        }
+        assertEquals(6, this.limiter.getLimit());
+        this.hold(2);
+        assertFalse(this.limiter.tryAcquire(0));
+    }
+
+    @Test
+    public void doesNotGrowWhileIdle() {
+        for (int i = 0; i < 20; i++) {
+            this.limiter.onAnswered(SlackConstants.USER_INFO, RTT);
+        }
+        assertEquals(4, this.limiter.getLimit());
+    }
+
+    @Test
+    public void halvesOnRateLimitsOncePerRoundTrip() throws InterruptedException {
+        this.limiter.onAnswered(SlackConstants.USER_INFO, RTT);
+        this.limiter.onLimited(SlackConstants.USER_INFO);
+        this.limiter.onLimited(SlackConstants.USER_INFO);
+        assertEquals(2, this.limiter.getLimit());
+        this.now.addAndGet(RTT);
+        this.limiter.onLimited(SlackConstants.USER_INFO);
+        this.now.addAndGet(RTT);
+        this.limiter.onLimited(SlackConstants.USER_INFO);
+        assertEquals(1, this.limiter.getLimit());
+        this.hold(1);
+        assertFalse(this.limiter.tryAcquire(0));
+    }
+
+    @Test
+    public void backsOffOnLatencySpikes() {
+        this.limiter.onAnswered(SlackConstants.USER_INFO, RTT);
+        this.limiter.onAnswered(SlackConstants.USER_INFO, RTT * 3);
+        // 4 * 0.9 leaves room for three calls
+        assertEquals(3, this.limiter.getLimit());
+    }
+
+    @Test
+    public void judgesLatencyAgainstTheSameMethod() {
+        this.limiter.onAnswered(SlackConstants.USER_INFO, RTT);
+        // Slow for a user lookup, usual for a history page
+        this.limiter.onAnswered(SlackConstants.CONVERSATION_HISTORY, RTT * 5);
+        this.limiter.onAnswered(SlackConstants.USER_INFO, RTT);
+        this.limiter.onAnswered(SlackConstants.CONVERSATION_HISTORY, RTT * 5);
+        assertEquals(4, this.limiter.getLimit());
+    }
+
+    @Test
+    public void startsInteractiveCallsFirst() throws InterruptedException {
+        this.hold(4);
+        final List<String> started = new ArrayList<>();
+        this.limiter.submit(RequestPriority.BULK, () -> started.add("bulk"));
+        this.limiter.submit(RequestPriority.INTERACTIVE, () -> started.add("interactive"));
+        assertTrue(started.isEmpty());
+        this.limiter.release();
+        this.limiter.release();
+        assertEquals(2, started.size());
+        assertEquals("interactive", started.get(0));
+    }
+}
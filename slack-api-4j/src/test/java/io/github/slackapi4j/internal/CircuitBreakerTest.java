@@ -0,0 +1,185 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.common.base.Ticker;
+import io.github.slackapi4j.BreakerOptions;
+import io.github.slackapi4j.CircuitState;
+import io.github.slackapi4j.SlackOptions;
+import io.github.slackapi4j.exceptions.SlackCircuitOpenException;
+import io.github.slackapi4j.transport.LoopbackTransport;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private final CircuitBreaker breaker = new CircuitBreaker(BreakerOptions.builder()
+            .windowSize(10)
+            .minimumCalls(4)
+            .openDuration(1000)
+            .probeCalls(2)
+            .build(), new Ticker() {
+        @Override
+        public long read() {
+            return CircuitBreakerTest.this.now.get();
+        }
+    });
+
+    public CircuitBreakerTest() {
+        this.breaker.addListener((method, from, to) -> this.events.add(method + " " + from + " -> " + to));
+    }
+
+    private CircuitBreaker.Permit acquire(final SlackConstants method) {
+        final CircuitBreaker.Permit permit = this.breaker.tryAcquire(method);
+        assertTrue(permit.isGranted());
+        return permit;
+    }
+
+    private void fail(final SlackConstants method, final int times) {
+        for (int i = 0; i < times; i++) {
+            this.breaker.onFailure(this.acquire(method));
+        }
+    }
+
+    private void open(final SlackConstants method) {
+        this.fail(method, 4);
+        assertEquals(CircuitState.OPEN, this.breaker.getState(method));
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void opensOnFailuresThenProbes() {
+        this.fail(SlackConstants.CONVERSATION_HISTORY, 4);
+        assertEquals(CircuitState.OPEN, this.breaker.getState(SlackConstants.CONVERSATION_HISTORY));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), this.breaker.tryAcquire(SlackConstants.CONVERSATION_HISTORY).getWait());
+        // Other methods are not affected
+        assertTrue(this.breaker.tryAcquire(SlackConstants.CHAT_POST).isGranted());
+
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        final long start = this.now.get();
+        final CircuitBreaker.Permit first = this.acquire(SlackConstants.CONVERSATION_HISTORY);
+        final CircuitBreaker.Permit second = this.acquire(SlackConstants.CONVERSATION_HISTORY);
+        assertFalse(this.breaker.tryAcquire(SlackConstants.CONVERSATION_HISTORY).isGranted(), "only two probes at once");
+        this.breaker.onSuccess(first, start);
+        this.breaker.onSuccess(second, start);
+        assertEquals(CircuitState.CLOSED, this.breaker.getState(SlackConstants.CONVERSATION_HISTORY));
+        assertEquals(Arrays.asList(
+                "conversations.history CLOSED -> OPEN",
+                "conversations.history OPEN -> HALF_OPEN",
+                "conversations.history HALF_OPEN -> CLOSED"), this.events);
+    }
+
+    @Test
+    public void aFailedProbeReopens() {
+        this.open(SlackConstants.CONVERSATION_HISTORY);
+        this.fail(SlackConstants.CONVERSATION_HISTORY, 1);
+        assertEquals(CircuitState.OPEN, this.breaker.getState(SlackConstants.CONVERSATION_HISTORY));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), this.breaker.tryAcquire(SlackConstants.CONVERSATION_HISTORY).getWait());
+    }
+
+    @Test
+    public void aSlowProbeReopens() {
+        this.open(SlackConstants.CONVERSATION_HISTORY);
+        final long start = this.now.get();
+        final CircuitBreaker.Permit probe = this.acquire(SlackConstants.CONVERSATION_HISTORY);
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        this.breaker.onSuccess(probe, start);
+        assertEquals(CircuitState.OPEN, this.breaker.getState(SlackConstants.CONVERSATION_HISTORY));
+    }
+
+    @Test
+    public void callsFromBeforeTheProbesAreNotCounted() {
+        final long start = this.now.get();
+        final List<CircuitBreaker.Permit> inFlight = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            inFlight.add(this.acquire(SlackConstants.CONVERSATION_HISTORY));
+        }
+        this.open(SlackConstants.CONVERSATION_HISTORY);
+        final CircuitBreaker.Permit probe = this.acquire(SlackConstants.CONVERSATION_HISTORY);
+        // Calls sent while the breaker was closed neither close it nor take a probe's place
+        for (final CircuitBreaker.Permit permit : inFlight) {
+            this.breaker.onSuccess(permit, start);
+        }
+        assertEquals(CircuitState.HALF_OPEN, this.breaker.getState(SlackConstants.CONVERSATION_HISTORY));
+        this.breaker.onFailure(inFlight.get(0));
+        assertEquals(CircuitState.HALF_OPEN, this.breaker.getState(SlackConstants.CONVERSATION_HISTORY));
+        this.breaker.onSuccess(probe, this.now.get());
+        this.breaker.onSuccess(this.acquire(SlackConstants.CONVERSATION_HISTORY), this.now.get());
+        assertEquals(CircuitState.CLOSED, this.breaker.getState(SlackConstants.CONVERSATION_HISTORY));
+    }
+
+    @Test
+    public void slowCallsCount() {
+        for (int i = 0; i < 4; i++) {
+            final long start = this.now.get();
+            final CircuitBreaker.Permit permit = this.acquire(SlackConstants.USER_INFO);
+            this.now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+            this.breaker.onSuccess(permit, start);
+        }
+        assertEquals(CircuitState.OPEN, this.breaker.getState(SlackConstants.USER_INFO));
+    }
+
+    @Test
+    public void failingEndpointFailsFast() throws Exception {
+        final AtomicInteger sent = new AtomicInteger();
+        final LoopbackTransport loopback = new LoopbackTransport()
+                .handle(SlackConstants.CONVERSATION_INFO, request -> {
+                    sent.incrementAndGet();
+                    return LoopbackTransport.respond(503, "");
+                })
+                .handle(SlackConstants.USER_INFO, request -> LoopbackTransport.ok("{\"user\":{}}"));
+        final SlackConnection connection = new SlackConnection("xoxb-test", SlackOptions.builder()
+                .transport(loopback)
+                .rateLimited(false)
+                .breaker(BreakerOptions.builder().minimumCalls(5).build())
+                .build());
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IOException.class, () -> connection.callMethod(SlackConstants.CONVERSATION_INFO, Utilities.EMPTY_MAP));
+        }
+        assertThrows(SlackCircuitOpenException.class, () -> connection.callMethod(SlackConstants.CONVERSATION_INFO, Utilities.EMPTY_MAP));
+        final ExecutionException async = assertThrows(ExecutionException.class,
+                () -> connection.callMethodAsync(SlackConstants.CONVERSATION_INFO, Utilities.EMPTY_MAP).get());
+        assertTrue(async.getCause() instanceof SlackCircuitOpenException);
+        assertEquals(5, sent.get());
+        connection.callMethodHandled(SlackConstants.USER_INFO, Utilities.EMPTY_MAP);
+    }
+}
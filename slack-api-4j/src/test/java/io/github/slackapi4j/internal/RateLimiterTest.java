@@ -0,0 +1,106 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final RateLimiter limiter = new RateLimiter(new Ticker() {
+        @Override
+        public long read() {
+            return RateLimiterTest.this.now.get();
+        }
+    }, true);
+
+    @Test
+    public void burstThenPaced() {
+        // Tier 2: a burst of 3, then one call every 3 seconds
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null));
+        }
+        assertEquals(TimeUnit.SECONDS.toNanos(3), this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null));
+        assertEquals(TimeUnit.SECONDS.toNanos(6), this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null));
+    }
+
+    @Test
+    public void refillsWhileIdle() {
+        for (int i = 0; i < 3; i++) {
+            this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null);
+        }
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertEquals(0, this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null));
+        assertEquals(0, this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null));
+        assertEquals(TimeUnit.SECONDS.toNanos(3), this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null));
+    }
+
+    @Test
+    public void penaltyOnlyHoldsBackThatMethod() {
+        this.limiter.penalize(SlackConstants.CONVERSATION_HISTORY, TimeUnit.SECONDS.toMillis(30));
+        assertEquals(TimeUnit.SECONDS.toNanos(30), this.limiter.reserve(SlackConstants.CONVERSATION_HISTORY, null));
+        assertEquals(0, this.limiter.reserve(SlackConstants.CHAT_POST, "C1"));
+        assertEquals(0, this.limiter.reserve(SlackConstants.CONVERSATION_INFO, null));
+    }
+
+    @Test
+    public void postsArePacedPerChannel() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, this.limiter.reserve(SlackConstants.CHAT_POST, "C1"));
+        }
+        assertEquals(TimeUnit.SECONDS.toNanos(1), this.limiter.reserve(SlackConstants.CHAT_POST, "C1"));
+        assertEquals(0, this.limiter.reserve(SlackConstants.CHAT_POST, "C2"));
+    }
+
+    @Test
+    public void partialSharesLeaveTheBurstFree() {
+        // Bulk may only draw on a quarter of the burst: one call, then it is told to come back
+        assertEquals(0, this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null, 0.25));
+        assertEquals(-TimeUnit.MILLISECONDS.toNanos(1500), this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null, 0.25));
+        // which leaves the rest for interactive calls
+        assertEquals(0, this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null));
+        assertEquals(0, this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null));
+        assertEquals(TimeUnit.SECONDS.toNanos(3), this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null));
+    }
+
+    @Test
+    public void lookingDoesNotReserve() {
+        assertTrue(this.limiter.isAvailable(SlackConstants.CONVERSATION_LIST, 0.5));
+        this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null);
+        assertTrue(this.limiter.isAvailable(SlackConstants.CONVERSATION_LIST, 0.5));
+        this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null);
+        assertFalse(this.limiter.isAvailable(SlackConstants.CONVERSATION_LIST, 0.5));
+        assertEquals(0, this.limiter.reserve(SlackConstants.CONVERSATION_LIST, null));
+    }
+}
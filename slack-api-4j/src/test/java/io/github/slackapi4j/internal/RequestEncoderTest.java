@@ -0,0 +1,88 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RequestEncoderTest {
+    private static final String TRICKY = "a b&c=d+e%f/g?h é € 😀 lone \ud83d end *-._~";
+
+    @Test
+    public void formMatchesUrlEncoder() throws Exception {
+        final Map<String, Object> params = new LinkedHashMap<>();
+        params.put("channel", "C1234");
+        params.put("text", TRICKY);
+        params.put("count", 42);
+        params.put("latest", -7L);
+        params.put("inclusive", true);
+        final String expected = "token=" + URLEncoder.encode("xoxb-1/2 3", "UTF-8")
+                + "&channel=C1234&text=" + URLEncoder.encode(TRICKY, "UTF-8")
+                + "&count=42&latest=-7&inclusive=true";
+        final RequestEncoder encoder = new RequestEncoder("xoxb-1/2 3");
+        assertEquals(expected, new String(encoder.encodeForm(params), StandardCharsets.UTF_8));
+        // The pooled buffer is reused, the second body must not carry anything over
+        assertEquals("token=xoxb-1%2F2+3", new String(encoder.encodeForm(Utilities.EMPTY_MAP), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void jsonMatchesToString() {
+        final JsonObject body = new JsonObject();
+        body.addProperty("channel", "C1234");
+        body.addProperty("text", TRICKY.replace(" lone \ud83d", "") + " <b>\"quoted\"</b>\n\u0001");
+        body.addProperty("as_user", true);
+        body.addProperty("count", 1.5);
+        body.add("thread_ts", JsonNull.INSTANCE);
+        final JsonArray blocks = new JsonArray();
+        blocks.add(new JsonObject());
+        body.add("blocks", blocks);
+        final RequestEncoder encoder = new RequestEncoder("xoxb-test");
+        assertEquals(body.toString(), new String(encoder.encodeJson(body), StandardCharsets.UTF_8));
+        assertEquals("Bearer xoxb-test", encoder.getAuthorization());
+    }
+
+    @Test
+    public void largeBodiesGrowTheBuffer() {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            text.append('é');
+        }
+        final Map<String, Object> params = new LinkedHashMap<>();
+        params.put("text", text.toString());
+        final byte[] body = new RequestEncoder("t").encodeForm(params);
+        assertEquals("token=t&text=".length() + 100000 * 6, body.length);
+    }
+}
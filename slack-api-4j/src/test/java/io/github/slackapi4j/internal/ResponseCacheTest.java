@@ -0,0 +1,118 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import io.github.slackapi4j.CacheOptions;
+import io.github.slackapi4j.transport.LoopbackTransport;
+import io.github.slackapi4j.transport.SlackRequest;
+import io.github.slackapi4j.transport.SlackResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ResponseCacheTest {
+    private static final String BODY = "{\"ok\":true,\"channel\":{\"id\":\"C1234\"}}";
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final ResponseCache cache = new ResponseCache(CacheOptions.DEFAULT, new Ticker() {
+        @Override
+        public long read() {
+            return ResponseCacheTest.this.now.get();
+        }
+    });
+    private final List<SlackRequest> sent = new ArrayList<>();
+
+    private LoopbackTransport answering(final int status, final Map<String, String> headers) {
+        return new LoopbackTransport().handle(SlackConstants.CONVERSATION_INFO, request -> {
+            this.sent.add(request);
+            return new SlackResponse(status, headers, new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8)));
+        });
+    }
+
+    private static SlackRequest info() {
+        return SlackRequest.builder()
+                .method(SlackConstants.CONVERSATION_INFO)
+                .httpMethod("GET")
+                .query("channel=C1234")
+                .build();
+    }
+
+    private static String read(final SlackResponse response) throws IOException {
+        try (final SlackResponse ignored = response) {
+            return new String(ByteStreams.toByteArray(response.getBody()), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void keepsAnAnswerForItsMaxAge() throws IOException {
+        final LoopbackTransport transport = this.answering(200, ImmutableMap.of("Cache-Control", "private, max-age=60"));
+        assertEquals(BODY, read(this.cache.execute(transport, info())));
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertEquals(BODY, read(this.cache.fresh(info())));
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertNull(this.cache.fresh(info()));
+        assertEquals(1, this.cache.getHits());
+        assertEquals(1, this.sent.size());
+    }
+
+    @Test
+    public void revalidatesAStaleAnswerWithItsETag() throws IOException {
+        this.cache.execute(this.answering(200, ImmutableMap.of("ETag", "\"v1\"")), info()).close();
+        assertNull(this.cache.fresh(info()));
+        final SlackResponse revalidated = this.cache.execute(this.answering(304, ImmutableMap.of()), info());
+        assertEquals("\"v1\"", this.sent.get(1).getHeaders().get("If-None-Match"));
+        assertEquals(200, revalidated.getStatus());
+        assertEquals(BODY, read(revalidated));
+        assertEquals(1, this.cache.getRevalidated());
+    }
+
+    @Test
+    public void neverKeepsNoStoreAnswersOrPosts() throws IOException {
+        final LoopbackTransport transport = this.answering(200, ImmutableMap.of("Cache-Control", "no-store, max-age=60"));
+        read(this.cache.execute(transport, info()));
+        assertNull(this.cache.fresh(info()));
+        final SlackRequest post = info().toBuilder().httpMethod("POST").query(null).build();
+        read(this.cache.execute(this.answering(200, ImmutableMap.of("Cache-Control", "max-age=60")), post));
+        assertNull(this.cache.fresh(post));
+        assertNotNull(this.cache.execute(transport, info()));
+        assertEquals(0, this.cache.getHits());
+    }
+}
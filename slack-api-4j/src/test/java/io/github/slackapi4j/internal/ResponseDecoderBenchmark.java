@@ -0,0 +1,106 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import io.github.slackapi4j.objects.Conversation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the bytes allocated decoding a 1000 item conversations.list page as a json tree then
+ * converting it, against streaming it straight into items.
+ * Run with {@code -Dslackapi4j.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "slackapi4j.benchmark", matches = "true")
+public class ResponseDecoderBenchmark {
+    private static final int ITEMS = 1000;
+    private static final int ROUNDS = 200;
+
+    @Test
+    public void allocationPerPage() throws IOException {
+        final StringBuilder json = new StringBuilder("{\"ok\":true,\"channels\":[");
+        for (int i = 0; i < ITEMS; i++) {
+            json.append(i == 0 ? "" : ",").append(ResponseDecoderTest.channel(i));
+        }
+        final byte[] page = json.append("],\"response_metadata\":{\"next_cursor\":\"\"}}").toString().getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            assertEquals(ITEMS, tree(page).size());
+            assertEquals(ITEMS, streamed(page).size());
+        }
+        final long tree = measure(() -> tree(page));
+        final long streamed = measure(() -> streamed(page));
+        System.out.printf("%d items, %d byte page: tree %d bytes/page, streamed %d bytes/page%n",
+                ITEMS, page.length, tree, streamed);
+    }
+
+    private static List<Conversation> tree(final byte[] page) {
+        final JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(page), StandardCharsets.UTF_8));
+        final JsonObject root = new JsonParser().parse(reader).getAsJsonObject();
+        final List<Conversation> conversations = new ArrayList<>();
+        final JsonArray array = root.getAsJsonArray("channels");
+        for (final JsonElement object : array) {
+            conversations.add(ResponseDecoderTest.GSON.fromJson(object, Conversation.class));
+        }
+        return conversations;
+    }
+
+    private static List<Conversation> streamed(final byte[] page) throws IOException {
+        final JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(page), StandardCharsets.UTF_8));
+        return ResponseDecoder.readPage(reader, "channels", ResponseDecoderTest.ADAPTER).value.getItems();
+    }
+
+    @SuppressWarnings("restriction")
+    private static long measure(final Decode decode) throws IOException {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long thread = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ROUNDS; i++) {
+            decode.run();
+        }
+        return (threads.getThreadAllocatedBytes(thread) - before) / ROUNDS;
+    }
+
+    private interface Decode {
+        Object run() throws IOException;
+    }
+}
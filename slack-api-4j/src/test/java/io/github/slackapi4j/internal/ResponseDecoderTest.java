@@ -0,0 +1,88 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import io.github.slackapi4j.objects.Conversation;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResponseDecoderTest {
+    static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Conversation.class, Conversation.getGsonAdapter())
+            .create();
+    static final TypeAdapter<Conversation> ADAPTER = GSON.getAdapter(Conversation.class);
+
+    static String channel(final int i) {
+        return "{\"id\":\"C" + i + "\",\"created\":1500000000,\"is_channel\":true,\"name\":\"channel-" + i + "\","
+                + "\"creator\":\"U1234\",\"is_member\":true,\"topic\":{\"value\":\"\",\"creator\":\"\",\"last_set\":0},"
+                + "\"purpose\":{\"value\":\"a channel\",\"creator\":\"U1234\",\"last_set\":1500000000},"
+                + "\"previous_names\":[],\"num_members\":" + i + "}";
+    }
+
+    private static ResponseDecoder.Envelope<Page<Conversation>> read(final String json) throws IOException {
+        return ResponseDecoder.readPage(new JsonReader(new StringReader(json)), "channels", ADAPTER);
+    }
+
+    @Test
+    public void readsItemsAndCursor() throws IOException {
+        final ResponseDecoder.Envelope<Page<Conversation>> envelope = read("{\"channels\":[" + channel(1) + ',' + channel(2)
+                + "],\"unknown\":{\"nested\":[1,2]},\"ok\":true,\"response_metadata\":{\"next_cursor\":\"dGVhbTpD\"}}");
+        assertTrue(envelope.ok);
+        assertEquals(2, envelope.value.getItems().size());
+        assertEquals("channel-2", envelope.value.getItems().get(1).getName());
+        assertEquals(2, envelope.value.getItems().get(1).getNum_members());
+        assertEquals("dGVhbTpD", envelope.value.getNextCursor());
+    }
+
+    @Test
+    public void emptyCursorMeansLastPage() throws IOException {
+        final ResponseDecoder.Envelope<Page<Conversation>> envelope = read(
+                "{\"ok\":true,\"channels\":[],\"response_metadata\":{\"next_cursor\":\"\"}}");
+        assertTrue(envelope.value.getItems().isEmpty());
+        assertNull(envelope.value.getNextCursor());
+    }
+
+    @Test
+    public void readsErrorsAndWarnings() throws IOException {
+        final ResponseDecoder.Envelope<Page<Conversation>> envelope = read(
+                "{\"ok\":false,\"error\":\"invalid_cursor\",\"warning\":\"superfluous_charset\"}");
+        assertFalse(envelope.ok);
+        assertEquals("invalid_cursor", envelope.error);
+        assertEquals("superfluous_charset", envelope.warning);
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.common.base.Ticker;
+import com.google.gson.JsonObject;
+import io.github.slackapi4j.RetryOptions;
+import io.github.slackapi4j.SlackOptions;
+import io.github.slackapi4j.transport.LoopbackTransport;
+import io.github.slackapi4j.transport.SlackResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hammers one connection from many threads and checks nothing is lost or duplicated.
+ */
+public class SlackConnectionStressTest {
+    private static final int THREADS = 64;
+    private static final int CALLS = 500;
+
+    /**
+     * Runs a task on every thread at once and waits for them all.
+     */
+    private static void race(final Task task) throws Exception {
+        final ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void limiterHandsOutEverySlotOnce() throws Exception {
+        final RateLimiter limiter = new RateLimiter(new Ticker() {
+            @Override
+            public long read() {
+                return TimeUnit.HOURS.toNanos(1);
+            }
+        }, true);
+        final List<Long> waits = Collections.synchronizedList(new ArrayList<>());
+        race(thread -> {
+            for (int i = 0; i < CALLS; i++) {
+                waits.add(limiter.reserve(SlackConstants.CONVERSATION_LIST, null));
+            }
+        });
+        // With time frozen the k-th reservation waits for k - burst + 1 intervals, a lost update would repeat a slot
+        final RateTier tier = SlackConstants.CONVERSATION_LIST.getTier();
+        Collections.sort(waits);
+        for (int k = 0; k < THREADS * CALLS; k++) {
+            assertEquals(Math.max(0, k - tier.getBurst() + 1) * tier.getIntervalNanos(), (long) waits.get(k));
+        }
+    }
+
+    @Test
+    public void connectionUnderContention() throws Exception {
+        final AtomicInteger infoRequests = new AtomicInteger();
+        final AtomicInteger posts = new AtomicInteger();
+        final AtomicInteger limited = new AtomicInteger();
+        final Map<String, List<Integer>> delivered = new ConcurrentHashMap<>();
+        final LoopbackTransport loopback = new LoopbackTransport()
+                .handle(SlackConstants.CONVERSATION_INFO, request -> {
+                    infoRequests.incrementAndGet();
+                    return LoopbackTransport.ok("{\"channel\":{}}");
+                })
+                .handle(SlackConstants.CHAT_POST, request -> {
+                    if (posts.incrementAndGet() % 20 == 0) {
+                        limited.incrementAndGet();
+                        final SlackResponse response = LoopbackTransport.respond(429, "{\"ok\":false,\"error\":\"ratelimited\"}");
+                        response.getHeaders().put("Retry-After", "0");
+                        return response;
+                    }
+                    final JsonObject arguments = LoopbackTransport.arguments(request);
+                    delivered.computeIfAbsent(arguments.get("channel").getAsString(), c -> Collections.synchronizedList(new ArrayList<>()))
+                            .add(arguments.get("text").getAsInt());
+                    return LoopbackTransport.ok("{}");
+                });
+        final SlackConnection connection = new SlackConnection("xoxb-test", SlackOptions.builder()
+                .transport(loopback)
+                .rateLimited(false)
+                .retry(RetryOptions.builder().baseBackoff(1).maxAttempts(10).build())
+                .build());
+        race(thread -> {
+            final String channel = "C" + (thread % 8);
+            for (int i = 0; i < CALLS; i++) {
+                connection.callMethodHandled(SlackConstants.CONVERSATION_INFO, Collections.singletonMap("channel", (Object) "C1"));
+                if (thread < 8) {
+                    final JsonObject message = new JsonObject();
+                    message.addProperty("channel", channel);
+                    message.addProperty("text", i);
+                    connection.callMethodHandled(SlackConstants.CHAT_POST, message);
+                }
+            }
+        });
+        assertEquals(THREADS * CALLS, infoRequests.get() + connection.getCoalescedCalls());
+        assertEquals(limited.get(), connection.getRetryStats().getRetries());
+        assertEquals(8, delivered.size());
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < CALLS; i++) {
+            expected.add(i);
+        }
+        for (final List<Integer> texts : delivered.values()) {
+            assertEquals(expected, texts);
+        }
+    }
+
+    private interface Task {
+        void run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.slackapi4j.internal;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import io.github.slackapi4j.SlackOptions;
+import io.github.slackapi4j.transport.LoopbackTransport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Holds 10,000 blocking calls in flight at once, each answered after 200ms, on the connection's background
+ * executor, and reports how long they took and how many platform threads it needed. On Java 21 with
+ * virtual threads asked for they park on a handful of carriers; on Java 8 every call holds a thread.
+ * Run with {@code -Dslackapi4j.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "slackapi4j.benchmark", matches = "true")
+public class VirtualThreadBenchmark {
+    private static final int CALLS = 10000;
+    private static final long LATENCY = 200;
+
+    @Test
+    public void tenThousandCallsInFlight() throws Exception {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final LoopbackTransport loopback = new LoopbackTransport()
+                .handle(SlackConstants.CONVERSATION_INFO, request -> {
+                    peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(LATENCY);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    inFlight.decrementAndGet();
+                    return LoopbackTransport.ok("{\"channel\":{\"id\":\"C1234\"}}");
+                });
+        final SlackConnection connection = new SlackConnection("xoxb-test", SlackOptions.builder()
+                .transport(loopback)
+                .rateLimited(false)
+                .coalesceReads(false)
+                .timeout(0)
+                .virtualThreads(true)
+                .build());
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        final CountDownLatch done = new CountDownLatch(CALLS);
+        final AtomicInteger failed = new AtomicInteger();
+        final long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            connection.getExecutor().execute(() -> {
+                try {
+                    connection.callMethodHandled(SlackConstants.CONVERSATION_INFO, Collections.<String, Object>singletonMap("channel", "C1234"));
+                } catch (final Exception e) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await(5, TimeUnit.MINUTES);
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.printf("%s threads: %d calls of %dms in %dms, %d in flight at most, %d platform threads at most%n",
+                Threads.isVirtualSupported() ? "Virtual" : "Platform", CALLS, LATENCY, elapsed, peak.get(),
+                threads.getPeakThreadCount());
+        assertEquals(0, failed.get());
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.slackapi4j.metrics;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.common.collect.ImmutableMap;
+import io.github.slackapi4j.SlackAPI;
+import io.github.slackapi4j.SlackOptions;
+import io.github.slackapi4j.exceptions.SlackRequestLimitException;
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.transport.LoopbackTransport;
+import io.github.slackapi4j.transport.SlackResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WireMetricsTest {
+    private static final String LIMITED = "{\"ok\":false,\"error\":\"ratelimited\"}";
+    private static final String INFO = "{\"ok\":true,\"channel\":{\"id\":\"C1234\",\"created\":1500000000,"
+            + "\"is_channel\":true,\"name\":\"general\",\"creator\":\"U1234\",\"is_member\":true}}";
+
+    @Test
+    public void percentilesStayWithinABucket() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertEquals(1000, histogram.getCount());
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(500), histogram.getP50());
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(990), histogram.getP99());
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(999), histogram.getP999());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1000), histogram.getPercentile(1));
+    }
+
+    private static void assertWithin(final long expected, final long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.07, "expected about " + expected + " but was " + actual);
+    }
+
+    @Test
+    public void recordsCallsPerMethod() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final LoopbackTransport loopback = new LoopbackTransport()
+                .handle(SlackConstants.CONVERSATION_INFO, request -> {
+                    if (calls.incrementAndGet() == 1) {
+                        return new SlackResponse(429, ImmutableMap.of("Retry-After", "3"),
+                                new ByteArrayInputStream(LIMITED.getBytes(StandardCharsets.UTF_8)));
+                    }
+                    return LoopbackTransport.respond(200, INFO);
+                });
+        final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder()
+                .transport(loopback)
+                .rateLimited(false)
+                .build());
+        assertThrows(SlackRequestLimitException.class, () -> api.getConversations().getConversation("C1234"));
+        api.getConversations().getConversation("C1234");
+
+        final MethodMetrics info = ((WireMetrics) api.getMetrics()).get(SlackConstants.CONVERSATION_INFO);
+        assertEquals(2, info.getCalls());
+        assertEquals(ImmutableMap.of(200, 1L, 429, 1L), info.getStatuses());
+        assertEquals(1, info.getRateLimited());
+        assertEquals(3000, info.getRetryAfter());
+        assertTrue(info.getBytesSent() > 0);
+        assertEquals(LIMITED.length() + INFO.length(), info.getBytesReceived());
+        assertEquals(0, ((WireMetrics) api.getMetrics()).get(SlackConstants.CHAT_POST).getCalls());
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.gson.JsonElement;
+import com.sun.net.httpserver.HttpExchange;
+import io.github.slackapi4j.SlackOptions;
+import io.github.slackapi4j.internal.SlackConnection;
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.internal.Utilities;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressionTest {
+    private static final int MEMBERS = 5000;
+
+    private static String members() {
+        final StringBuilder json = new StringBuilder("{\"ok\":true,\"members\":[");
+        for (int i = 0; i < MEMBERS; i++) {
+            json.append(i == 0 ? "\"" : ",\"").append(String.format("U%08d", i)).append('"');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static byte[] compress(final String encoding, final byte[] body, final boolean zlib) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = "gzip".equals(encoding) ? new GZIPOutputStream(bytes)
+                : new DeflaterOutputStream(bytes, new Deflater(Deflater.DEFAULT_COMPRESSION, !zlib))) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Serves the member list compressed with the given encoding if the client accepts it.
+     */
+    private static StubSlackServer.Handler compressing(final String encoding, final AtomicReference<String> acceptEncoding,
+                                                      final AtomicInteger wireBytes, final boolean zlib) {
+        return (final HttpExchange exchange) -> {
+            final String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            acceptEncoding.set(accepted);
+            byte[] body = members().getBytes(StandardCharsets.UTF_8);
+            if (accepted != null && Arrays.asList(accepted.split(" *, *")).contains(encoding)) {
+                body = compress(encoding, body, zlib);
+                exchange.getResponseHeaders().set("Content-Encoding", encoding);
+            }
+            wireBytes.set(body.length);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        };
+    }
+
+    private static int countMembers(final TransportOptions.TransportOptionsBuilder options, final StubSlackServer server,
+                                    final boolean async) throws Exception {
+        try (HttpTransport transport = new HttpTransport(options.baseUri(server.getBaseUri()).build())) {
+            final SlackConnection connection = new SlackConnection("xoxb-test",
+                    SlackOptions.builder().transport(transport).rateLimited(false).build());
+            final JsonElement result = async
+                    ? connection.callMethodAsync(SlackConstants.USER_LIST, Utilities.EMPTY_MAP).get()
+                    : connection.callMethod(SlackConstants.USER_LIST, Utilities.EMPTY_MAP);
+            return result.getAsJsonObject().getAsJsonArray("members").size();
+        }
+    }
+
+    @Test
+    public void gzipResponsesAreDecoded() throws Exception {
+        try (StubSlackServer server = new StubSlackServer()) {
+            final AtomicReference<String> accepted = new AtomicReference<>();
+            final AtomicInteger wire = new AtomicInteger();
+            server.handle("users.list", compressing("gzip", accepted, wire, true));
+            assertEquals(MEMBERS, countMembers(TransportOptions.builder(), server, false));
+            assertEquals(new HashSet<>(Arrays.asList("gzip", "deflate")), new HashSet<>(Arrays.asList(accepted.get().split(" *, *"))));
+            assertTrue(wire.get() * 4 < members().length(), "only " + wire.get() + " bytes on the wire");
+            assertEquals(MEMBERS, countMembers(TransportOptions.builder(), server, true));
+        }
+    }
+
+    @Test
+    public void deflateResponsesAreDecoded() throws Exception {
+        for (final boolean zlib : new boolean[]{true, false}) {
+            try (StubSlackServer server = new StubSlackServer()) {
+                final AtomicReference<String> accepted = new AtomicReference<>();
+                final AtomicInteger wire = new AtomicInteger();
+                server.handle("users.list", compressing("deflate", accepted, wire, zlib));
+                assertEquals(MEMBERS, countMembers(TransportOptions.builder(), server, false));
+                assertEquals(MEMBERS, countMembers(TransportOptions.builder(), server, true));
+                assertTrue(wire.get() * 4 < members().length());
+            }
+        }
+    }
+
+    @Test
+    public void compressionCanBeTurnedOff() throws Exception {
+        try (StubSlackServer server = new StubSlackServer()) {
+            final AtomicReference<String> accepted = new AtomicReference<>("unset");
+            final AtomicInteger wire = new AtomicInteger();
+            server.handle("users.list", compressing("gzip", accepted, wire, true));
+            assertEquals(MEMBERS, countMembers(TransportOptions.builder().compressed(false), server, false));
+            assertNull(accepted.get());
+            assertEquals(members().length(), wire.get());
+        }
+    }
+}
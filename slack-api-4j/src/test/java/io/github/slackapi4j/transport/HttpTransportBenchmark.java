@@ -0,0 +1,112 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import io.github.slackapi4j.SlackOptions;
+import io.github.slackapi4j.internal.SlackConnection;
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.internal.Utilities;
+import com.google.common.io.ByteStreams;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the pooled transport against opening a fresh connection per call, the way
+ * SlackConnection used to. Run with {@code -Dslackapi4j.benchmark=true}.
+ * The stub is plain http, so every new connection here stands in for a TLS handshake against Slack.
+ */
+@EnabledIfSystemProperty(named = "slackapi4j.benchmark", matches = "true")
+public class HttpTransportBenchmark {
+    private static final int WARMUP = 500;
+    private static final int CALLS = 5000;
+
+    @Test
+    public void pooledVersusPerCallConnections() throws Exception {
+        try (StubSlackServer server = new StubSlackServer();
+             HttpTransport transport = new HttpTransport(TransportOptions.builder().baseUri(server.getBaseUri()).build())) {
+            final SlackConnection connection = new SlackConnection("xoxb-test", SlackOptions.builder().transport(transport).rateLimited(false).build());
+            for (int i = 0; i < WARMUP; i++) {
+                connection.callMethod(SlackConstants.API_TEST, Utilities.EMPTY_MAP);
+            }
+            final int pooledBefore = server.getConnectionCount();
+            final long[] pooled = new long[CALLS];
+            for (int i = 0; i < CALLS; i++) {
+                final long start = System.nanoTime();
+                connection.callMethod(SlackConstants.API_TEST, Utilities.EMPTY_MAP);
+                pooled[i] = System.nanoTime() - start;
+            }
+            final int pooledConnections = server.getConnectionCount() - pooledBefore;
+
+            final long[] fresh = new long[CALLS];
+            final int freshBefore = server.getConnectionCount();
+            for (int i = 0; i < WARMUP; i++) {
+                postWithNewConnection(server);
+            }
+            for (int i = 0; i < CALLS; i++) {
+                final long start = System.nanoTime();
+                postWithNewConnection(server);
+                fresh[i] = System.nanoTime() - start;
+            }
+            final int freshConnections = server.getConnectionCount() - freshBefore - WARMUP;
+
+            report("pooled", pooled, pooledConnections);
+            report("per-call", fresh, freshConnections);
+            assertTrue(pooledConnections < freshConnections);
+        }
+    }
+
+    private static void postWithNewConnection(final StubSlackServer server) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) server.getBaseUri().resolve("api.test").toURL().openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Connection", "close");
+        connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write("token=xoxb-test".getBytes(StandardCharsets.UTF_8));
+        }
+        try (InputStream in = connection.getInputStream()) {
+            ByteStreams.exhaust(in);
+        }
+    }
+
+    private static void report(final String name, final long[] samples, final int connections) {
+        Arrays.sort(samples);
+        System.out.printf("%-9s calls=%d connections=%d p50=%dus p99=%dus p999=%dus%n", name, samples.length, connections,
+                samples[samples.length / 2] / 1000,
+                samples[(int) (samples.length * 0.99)] / 1000,
+                samples[(int) (samples.length * 0.999)] / 1000);
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import io.github.slackapi4j.exceptions.SlackException;
+import io.github.slackapi4j.SlackOptions;
+import io.github.slackapi4j.internal.SlackConnection;
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.internal.Utilities;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpTransportTest {
+
+    @Test
+    public void reusesConnections() throws IOException, SlackException {
+        try (StubSlackServer server = new StubSlackServer();
+             HttpTransport transport = new HttpTransport(TransportOptions.builder().baseUri(server.getBaseUri()).build())) {
+            final SlackConnection connection = new SlackConnection("xoxb-test", SlackOptions.builder().transport(transport).rateLimited(false).build());
+            for (int i = 0; i < 50; i++) {
+                assertTrue(connection.callMethodHandled(SlackConstants.API_TEST, Utilities.EMPTY_MAP).get("ok").getAsBoolean());
+            }
+            assertEquals(50, server.getRequestCount());
+            // A call can start just before the previous connection is handed back to the pool
+            assertTrue(server.getConnectionCount() <= 2, "Opened " + server.getConnectionCount() + " connections");
+        }
+    }
+
+    @Test
+    public void limitsConnectionsPerHost() throws Exception {
+        try (StubSlackServer server = new StubSlackServer();
+             HttpTransport transport = new HttpTransport(TransportOptions.builder()
+                     .baseUri(server.getBaseUri())
+                     .maxConnectionsPerHost(2)
+                     .build())) {
+            server.handle("api.test", exchange -> {
+                try {
+                    Thread.sleep(5);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                StubSlackServer.respond(exchange, 200, "{\"ok\":true}");
+            });
+            final SlackConnection connection = new SlackConnection("xoxb-test", SlackOptions.builder().transport(transport).rateLimited(false).build());
+            final ExecutorService executor = Executors.newFixedThreadPool(8);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 80; i++) {
+                futures.add(executor.submit(() -> connection.callMethodHandled(SlackConstants.API_TEST, Utilities.EMPTY_MAP)));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+            assertEquals(80, server.getRequestCount());
+            assertTrue(server.getConnectionCount() <= 2, "Opened " + server.getConnectionCount() + " connections");
+        }
+    }
+
+    @Test
+    public void joinsRepeatedHeaders() throws IOException {
+        try (StubSlackServer server = new StubSlackServer();
+             HttpTransport transport = new HttpTransport(TransportOptions.builder().baseUri(server.getBaseUri()).build())) {
+            server.handle("api.test", exchange -> {
+                exchange.getResponseHeaders().add("Cache-Control", "private");
+                exchange.getResponseHeaders().add("Cache-Control", "max-age=60");
+                StubSlackServer.respond(exchange, 200, "{\"ok\":true}");
+            });
+            try (SlackResponse response = transport.execute(SlackRequest.builder().method(SlackConstants.API_TEST).build())) {
+                assertEquals("private, max-age=60", response.getHeader("cache-control"));
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import io.github.slackapi4j.SlackAPI;
+import io.github.slackapi4j.SlackOptions;
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.objects.Message;
+import io.github.slackapi4j.objects.ObjectID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast the library itself can post messages when the network is taken out of the picture.
+ * Run with {@code -Dslackapi4j.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "slackapi4j.benchmark", matches = "true")
+public class LoopbackBenchmark {
+    private static final int CALLS = 200000;
+
+    @Test
+    public void postMessages() throws Exception {
+        final LoopbackTransport loopback = new LoopbackTransport()
+                .handle(SlackConstants.CHAT_POST, request ->
+                        LoopbackTransport.ok("{\"message\":{\"text\":\"hello\",\"ts\":\"1500000000.000100\"}}"));
+        final SlackAPI api = new SlackAPI("xoxb-test", SlackOptions.builder().transport(loopback).rateLimited(false).build());
+        final Message message = Message.builder()
+                .conversationID(new ObjectID("C1234"))
+                .subtype(Message.MessageType.Normal)
+                .text("hello")
+                .build();
+        for (int i = 0; i < CALLS / 10; i++) {
+            api.sendMessage(message);
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            api.sendMessage(message);
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("loopback chat.postMessage: %d calls in %d ms, %.0f calls/s%n", CALLS,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), CALLS / (elapsed / 1e9));
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.gson.JsonObject;
+import io.github.slackapi4j.SlackAPI;
+import io.github.slackapi4j.SlackOptions;
+import io.github.slackapi4j.exceptions.SlackException;
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.objects.Conversation;
+import io.github.slackapi4j.objects.Message;
+import io.github.slackapi4j.objects.ObjectID;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LoopbackTransportTest {
+    static final String CHANNEL = "{\"id\":\"C1234\",\"created\":1500000000,\"is_channel\":true,\"name\":\"general\","
+            + "\"creator\":\"U1234\",\"is_member\":true}";
+
+    private static SlackAPI api(final LoopbackTransport loopback) {
+        return new SlackAPI("xoxb-test", SlackOptions.builder().transport(loopback).rateLimited(false).build());
+    }
+
+    @Test
+    public void routesMethodsToHandlers() throws Exception {
+        final LoopbackTransport loopback = new LoopbackTransport()
+                .handle(SlackConstants.CONVERSATION_INFO, request -> {
+                    assertEquals("C1234", LoopbackTransport.arguments(request).get("channel").getAsString());
+                    return LoopbackTransport.ok("{\"channel\":" + CHANNEL + "}");
+                })
+                .handle(SlackConstants.CHAT_POST, request -> {
+                    final JsonObject arguments = LoopbackTransport.arguments(request);
+                    return LoopbackTransport.ok("{\"message\":{\"text\":\"" + arguments.get("text").getAsString()
+                            + "\",\"ts\":\"1500000000.000100\"}}");
+                });
+        final SlackAPI api = api(loopback);
+        assertEquals("general", api.getConversations().getConversation("C1234").getName());
+        final Message sent = api.sendMessage(Message.builder()
+                .conversationID(new ObjectID("C1234"))
+                .subtype(Message.MessageType.Normal)
+                .text("hello")
+                .build());
+        assertEquals("hello", sent.getText());
+    }
+
+    @Test
+    public void unknownMethodsFailAsSlackWould() {
+        final SlackAPI api = api(new LoopbackTransport());
+        final SlackException e = assertThrows(SlackException.class, () -> api.getConversations().getConversation("C1234"));
+        assertEquals("unknown_method", e.getCode());
+    }
+
+    @Test
+    public void asyncHandlersCanRunOnAnExecutor() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Thread caller = Thread.currentThread();
+            final LoopbackTransport loopback = new LoopbackTransport(executor)
+                    .handle(SlackConstants.CONVERSATION_INFO, request -> {
+                        assertNotEquals(caller, Thread.currentThread());
+                        return LoopbackTransport.ok("{\"channel\":" + CHANNEL + "}");
+                    });
+            final Conversation conversation = api(loopback).getConversations().getConversationAsync("C1234").get();
+            assertEquals("general", conversation.getName());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
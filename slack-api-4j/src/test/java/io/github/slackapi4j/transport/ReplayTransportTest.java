@@ -0,0 +1,252 @@
+package io.github.slackapi4j.transport;
+
+/*-
+ * #%L
+ * slack-api-4j
+ * %%
+ * Copyright (C) 2018 - 2019 SlackApi4J
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.google.common.base.Ticker;
+import io.github.slackapi4j.SlackAPI;
+import io.github.slackapi4j.RealTimeSession;
+import io.github.slackapi4j.SlackOptions;
+import io.github.slackapi4j.eventListeners.RealTimeListener;
+import io.github.slackapi4j.events.MessageEvent;
+import io.github.slackapi4j.events.RealTimeEvent;
+import io.github.slackapi4j.exceptions.SlackRTException;
+import io.github.slackapi4j.internal.SlackConnection;
+import io.github.slackapi4j.internal.SlackConstants;
+import io.github.slackapi4j.objects.Conversation;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReplayTransportTest {
+    private static final String TOKEN = "xoxb-secret";
+    private static final String CHANNEL = "{\"id\":\"C1234\",\"created\":1500000000,\"is_channel\":true,\"name\":\"general\","
+            + "\"creator\":\"U1234\",\"is_member\":true}";
+    private static final String RTM_START = "{\"url\":\"wss://example.invalid/rtm\",\"channels\":[],"
+            + "\"users\":[{\"id\":\"U1234\",\"name\":\"bot\",\"deleted\":true}],\"self\":{\"id\":\"U1234\"}}";
+
+    private static TrafficLog recordSession() throws Exception {
+        final ByteArrayOutputStream file = new ByteArrayOutputStream();
+        try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+            final LoopbackTransport loopback = new LoopbackTransport()
+                    .handle(SlackConstants.CONVERSATION_INFO, request -> LoopbackTransport.ok("{\"channel\":" + CHANNEL + "}"))
+                    .handle(SlackConstants.RTM_START, request -> LoopbackTransport.ok(RTM_START));
+            final SlackConnection connection = new SlackConnection(TOKEN, SlackOptions.builder()
+                    .transport(loopback)
+                    .recorder(recorder)
+                    .build());
+            connection.callMethodHandled(SlackConstants.CONVERSATION_INFO, Collections.<String, Object>singletonMap("channel", "C1234"));
+            connection.callMethodHandled(SlackConstants.RTM_START);
+            recorder.recordFrame("{\"type\":\"hello\"}");
+            for (int i = 0; i < 20; i++) {
+                recorder.recordFrame("{\"type\":\"message\",\"channel\":\"C1234\",\"user\":\"U1234\",\"text\":\"" + i + "\",\"ts\":\"1.0\"}");
+            }
+        }
+        return TrafficLog.read(new ByteArrayInputStream(file.toByteArray()));
+    }
+
+    private static List<String> listen(final RealTimeSession session) {
+        final List<String> heard = Collections.synchronizedList(new ArrayList<>());
+        session.addListener(new RealTimeListener() {
+            @Override
+            public void onLoginComplete() {
+                heard.add("login");
+            }
+
+            @Override
+            public void onEvent(final RealTimeEvent event) {
+                heard.add(((MessageEvent) event).getMessage().getText());
+            }
+
+            @Override
+            public void onError(final SlackRTException cause) {
+                heard.add("error");
+            }
+
+            @Override
+            public void onClose() {
+                heard.add("close");
+            }
+        });
+        return heard;
+    }
+
+    private static List<String> expected() {
+        final List<String> expected = new ArrayList<>();
+        expected.add("login");
+        for (int i = 0; i < 20; i++) {
+            expected.add(String.valueOf(i));
+        }
+        return expected;
+    }
+
+    @Test
+    public void replaysWhatWasRecorded() throws Exception {
+        final TrafficLog log = recordSession();
+        assertEquals(2, log.getExchanges().size());
+        assertEquals(21, log.getFrames().size());
+        final String request = new String(log.getExchanges().get(0).getRequest(), StandardCharsets.UTF_8);
+        assertTrue(request.contains("C1234"), request);
+        assertFalse(request.contains(TOKEN), request);
+
+        final SlackAPI replayed = new SlackAPI("xoxb-other", SlackOptions.builder()
+                .transport(new ReplayTransport(log, ReplayTransport.AS_FAST_AS_POSSIBLE))
+                .build());
+        final Conversation conversation = replayed.getConversations().getConversation("C1234");
+        assertEquals("general", conversation.getName());
+
+        final RealTimeSession session = replayed.startRTSession();
+        final List<String> heard = listen(session);
+        session.replay().get(5, TimeUnit.SECONDS);
+        assertEquals(expected(), heard);
+    }
+
+    @Test
+    public void dispatchesOnBackgroundThreadsInOrder() throws Exception {
+        final SlackAPI replayed = new SlackAPI("xoxb-other", SlackOptions.builder()
+                .transport(new ReplayTransport(recordSession(), ReplayTransport.AS_FAST_AS_POSSIBLE))
+                .virtualThreads(true)
+                .build());
+        final RealTimeSession session = replayed.startRTSession();
+        final List<String> heard = listen(session);
+        final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        session.addListener(new RealTimeListener() {
+            @Override
+            public void onLoginComplete() {
+                threads.add(Thread.currentThread().getName());
+            }
+
+            @Override
+            public void onEvent(final RealTimeEvent event) {
+            }
+
+            @Override
+            public void onError(final SlackRTException cause) {
+            }
+
+            @Override
+            public void onClose() {
+            }
+        });
+        // Complete only once every frame has been handled, not just handed over
+        session.replay().get(5, TimeUnit.SECONDS);
+        assertEquals(expected(), heard);
+        assertFalse(threads.get(0).startsWith("slack-replay"), threads.get(0));
+    }
+
+    @Test
+    public void keepsTheRecordedPaceScaled() throws Exception {
+        final AtomicLong now = new AtomicLong();
+        final ByteArrayOutputStream file = new ByteArrayOutputStream();
+        try (TrafficRecorder recorder = new TrafficRecorder(file, new Ticker() {
+            @Override
+            public long read() {
+                return now.get();
+            }
+        })) {
+            recorder.recordFrame("first");
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+            recorder.recordFrame("second");
+        }
+        final ReplayTransport replay = new ReplayTransport(TrafficLog.read(new ByteArrayInputStream(file.toByteArray())), 5);
+        final List<Long> arrived = Collections.synchronizedList(new ArrayList<>());
+        final long start = System.nanoTime();
+        replay.replayFrames(text -> arrived.add(System.nanoTime() - start)).get(5, TimeUnit.SECONDS);
+        assertEquals(2, arrived.size());
+        final long gap = TimeUnit.NANOSECONDS.toMillis(arrived.get(1) - arrived.get(0));
+        assertTrue(gap >= 190 && gap < 600, "frames were " + gap + "ms apart");
+    }
+
+    @Test
+    public void keepsHeadersOfAnyLength() throws Exception {
+        final StringBuilder value = new StringBuilder();
+        while (value.length() < 70000) {
+            value.append("abcdefghij");
+        }
+        final ByteArrayOutputStream file = new ByteArrayOutputStream();
+        try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+            final SlackTransport transport = new RecordingTransport(new LoopbackTransport()
+                    .handle(SlackConstants.USER_INFO, request -> new SlackResponse(200,
+                            Collections.singletonMap("X-Large", value.toString()),
+                            new ByteArrayInputStream("{\"ok\":true,\"user\":{}}".getBytes(StandardCharsets.UTF_8)))), recorder);
+            new SlackConnection(TOKEN, SlackOptions.builder().transport(transport).build())
+                    .callMethodHandled(SlackConstants.USER_INFO);
+            assertNull(recorder.getFailure());
+        }
+        final TrafficLog log = TrafficLog.read(new ByteArrayInputStream(file.toByteArray()));
+        assertEquals(value.toString(), log.getExchanges().get(0).getHeaders().get("X-Large"));
+    }
+
+    @Test
+    public void aBrokenRecordingDoesNotFailCalls() throws Exception {
+        final TrafficRecorder recorder = new TrafficRecorder(new OutputStream() {
+            private int written;
+
+            @Override
+            public void write(final int b) throws IOException {
+                // Room for the gzip header only
+                if (++this.written > 10) {
+                    throw new IOException("disk full");
+                }
+            }
+        });
+        final SlackConnection connection = new SlackConnection(TOKEN, SlackOptions.builder()
+                .transport(new LoopbackTransport().handle(SlackConstants.USER_INFO, request -> LoopbackTransport.ok("{\"user\":{}}")))
+                .rateLimited(false)
+                .recorder(recorder)
+                .build());
+        connection.callMethodHandled(SlackConstants.USER_INFO);
+        // A frame that does not compress, so it reaches the full disk
+        final Random random = new Random(1);
+        final StringBuilder noise = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            noise.append((char) ('!' + random.nextInt(90)));
+        }
+        recorder.recordFrame(noise.toString());
+        assertNotNull(recorder.getFailure());
+        connection.callMethodHandled(SlackConstants.USER_INFO);
+        assertThrows(IOException.class, recorder::close);
+        // Nor does one that was closed
+        connection.callMethodHandled(SlackConstants.USER_INFO);
+    }
+}